@@ -0,0 +1,82 @@
+package myapp;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+import myapp.domain.Category;
+import myapp.domain.Order;
+import myapp.domain.Product;
+import myapp.domain.enumeration.CategoryStatus;
+import myapp.domain.enumeration.ProductStatus;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import tech.jhipster.config.JHipsterConstants;
+
+/**
+ * Starts the application for the benchmarks that need Spring beans, against an in-memory H2 database
+ * created by Liquibase without sample data.
+ */
+public final class BenchmarkApplicationContext {
+
+    private static final String DESCRIPTION = "A benchmark product description that is long enough to pass bean validation.";
+
+    private static final List<String> ARGUMENTS = List.of(
+        "--server.port=0",
+        "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "--spring.liquibase.contexts=test",
+        "--application.liquibase.async-start=false",
+        "--application.search.index-directory=target/jmh/lucene/product",
+        "--application.search.reindex-on-startup=false",
+        "--logging.level.ROOT=WARN",
+        "--logging.level.myapp=WARN",
+        "--logging.level.tech.jhipster=WARN",
+        "--logging.level.org.hibernate.SQL=WARN"
+    );
+
+    private BenchmarkApplicationContext() {}
+
+    /**
+     * Start the application.
+     *
+     * @param args additional command-line arguments, such as {@code --spring.threads.virtual.enabled=true}. They take
+     * precedence over the profile files, unlike default properties.
+     * @return the started context.
+     */
+    public static ConfigurableApplicationContext start(String... args) {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        return new SpringApplicationBuilder(SampleApp.class)
+            .profiles(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT)
+            .run(Stream.concat(ARGUMENTS.stream(), Arrays.stream(args)).toArray(String[]::new));
+    }
+
+    public static Product product(int index) {
+        return new Product()
+            .title("Benchmark product " + index)
+            .keywords("benchmark")
+            .description(DESCRIPTION)
+            .rating(1 + index % 10)
+            .price(BigDecimal.valueOf(10 + index % 100))
+            .quantityInStock(index % 50)
+            .status(ProductStatus.IN_STOCK)
+            .dateAdded(Instant.parse("2024-01-01T00:00:00Z").plusSeconds(index));
+    }
+
+    public static Category category(int index) {
+        return new Category()
+            .description("Benchmark category " + index)
+            .sortOrder(index)
+            .dateAdded(Instant.parse("2024-01-01T00:00:00Z"))
+            .status(CategoryStatus.AVAILABLE);
+    }
+
+    public static Order order(int index) {
+        return new Order()
+            .orderDate(Instant.parse("2024-01-01T00:00:00Z").plusSeconds(index))
+            .status("NEW")
+            .totalAmount(BigDecimal.valueOf(100 + index % 100))
+            .shippingCost(BigDecimal.TEN)
+            .trackingNumber("TRACK-" + index);
+    }
+}
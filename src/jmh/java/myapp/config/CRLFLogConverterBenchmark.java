@@ -0,0 +1,74 @@
+package myapp.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for {@link CRLFLogConverter#transform}, which runs on every formatted log line.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CRLFLogConverterBenchmark {
+
+    private static final String CLEAN_MESSAGE = "REST request to get a page of Products for user admin with page 3 and size 20";
+
+    private static final String TAINTED_MESSAGE = "REST request to get Product : 1001\r\nINFO forged log line\twith a tab";
+
+    private CRLFLogConverter converter;
+
+    private LoggingEvent applicationEvent;
+
+    private LoggingEvent safeLoggerEvent;
+
+    @Setup
+    public void setUp() {
+        LoggerContext loggerContext = new LoggerContext();
+        converter = new CRLFLogConverter();
+        converter.setContext(loggerContext);
+        converter.setOptionList(List.of("red"));
+        converter.start();
+        applicationEvent = new LoggingEvent();
+        applicationEvent.setLoggerName("myapp.web.rest.ProductResource");
+        applicationEvent.setLevel(Level.DEBUG);
+        safeLoggerEvent = new LoggingEvent();
+        safeLoggerEvent.setLoggerName("org.hibernate.SQL");
+        safeLoggerEvent.setLevel(Level.DEBUG);
+    }
+
+    @Benchmark
+    public String cleanMessage() {
+        return converter.transform(applicationEvent, CLEAN_MESSAGE);
+    }
+
+    @Benchmark
+    public String taintedMessage() {
+        return converter.transform(applicationEvent, TAINTED_MESSAGE);
+    }
+
+    @Benchmark
+    public String safeLogger() {
+        return converter.transform(safeLoggerEvent, TAINTED_MESSAGE);
+    }
+
+    @Benchmark
+    public boolean applicationLoggerSafeCheck() {
+        return converter.isLoggerSafe(applicationEvent);
+    }
+}
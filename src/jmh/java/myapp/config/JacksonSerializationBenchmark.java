@@ -0,0 +1,70 @@
+package myapp.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import myapp.BenchmarkApplicationContext;
+import myapp.domain.Order;
+import myapp.domain.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for the Jackson serialization of {@link Product} and {@link Order} pages, with the modules registered
+ * by {@link JacksonConfiguration}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JacksonSerializationBenchmark {
+
+    @Param({ "20", "2000" })
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+
+    private List<Product> products;
+
+    private List<Order> orders;
+
+    @Setup
+    public void setUp() {
+        JacksonConfiguration jacksonConfiguration = new JacksonConfiguration();
+        objectMapper = new ObjectMapper()
+            .registerModule(jacksonConfiguration.javaTimeModule())
+            .registerModule(jacksonConfiguration.jdk8TimeModule())
+            .registerModule(jacksonConfiguration.hibernate6Module())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        products = new ArrayList<>(pageSize);
+        orders = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            products.add(BenchmarkApplicationContext.product(i).id((long) i));
+            orders.add(BenchmarkApplicationContext.order(i).id((long) i));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeProducts() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public byte[] serializeOrders() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(orders);
+    }
+}
@@ -0,0 +1,93 @@
+package myapp.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import myapp.BenchmarkApplicationContext;
+import myapp.domain.Category;
+import myapp.domain.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Benchmark for {@link CategoryRepositoryWithBagRelationshipsImpl#fetchProducts(List)} and
+ * {@link CategoryRepositoryWithBagRelationshipsImpl#findAllWithProducts(Pageable)} against H2, for a page of categories
+ * with a few products each.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CategoryRepositoryWithBagRelationshipsBenchmark {
+
+    private static final int PRODUCTS_PER_CATEGORY = 5;
+
+    @Param({ "20", "200", "1000" })
+    private int categoryCount;
+
+    private ConfigurableApplicationContext context;
+
+    private CategoryRepositoryWithBagRelationshipsImpl repository;
+
+    private TransactionTemplate transactionTemplate;
+
+    private TransactionTemplate readOnlyTransactionTemplate;
+
+    private List<Category> categories;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplicationContext.start();
+        repository = context.getBean(CategoryRepositoryWithBagRelationshipsImpl.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        readOnlyTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnlyTransactionTemplate.setReadOnly(true);
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        CategoryRepository categoryRepository = context.getBean(CategoryRepository.class);
+        categories = transactionTemplate.execute(status -> {
+            List<Category> saved = new ArrayList<>(categoryCount);
+            for (int i = 0; i < categoryCount; i++) {
+                Category category = BenchmarkApplicationContext.category(i);
+                for (int j = 0; j < PRODUCTS_PER_CATEGORY; j++) {
+                    Product product = productRepository.save(BenchmarkApplicationContext.product(i * PRODUCTS_PER_CATEGORY + j));
+                    category.addProduct(product);
+                }
+                saved.add(categoryRepository.save(category));
+            }
+            return saved;
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Category> fetchProducts() {
+        return readOnlyTransactionTemplate.execute(status -> repository.fetchProducts(categories));
+    }
+
+    @Benchmark
+    public Page<Category> findAllWithProducts() {
+        return readOnlyTransactionTemplate.execute(status -> repository.findAllWithProducts(PageRequest.of(0, categoryCount)));
+    }
+}
@@ -0,0 +1,69 @@
+package myapp.service;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import myapp.BenchmarkApplicationContext;
+import myapp.domain.Product;
+import myapp.service.dto.ProductSummaryDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Benchmark for a product list page, loaded as entities with {@link ProductService#findAll(Pageable)} or as summaries
+ * with {@link ProductService#findAllSummaries(java.util.Collection, Pageable)}. Run it with {@code -prof gc} to compare
+ * allocations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ProductListingBenchmark {
+
+    private static final int PRODUCT_COUNT = 1000;
+
+    private static final Pageable PAGE = PageRequest.of(3, 100, Sort.by("id"));
+
+    private ConfigurableApplicationContext context;
+
+    private ProductService productService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplicationContext.start();
+        productService = context.getBean(ProductService.class);
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            productService.save(BenchmarkApplicationContext.product(i));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Product> entities() {
+        return productService.findAll(PAGE).getContent();
+    }
+
+    @Benchmark
+    public List<ProductSummaryDTO> summaries() {
+        return productService.findAllSummaries(ProductSummaryDTO.FIELDS, PAGE).getContent();
+    }
+}
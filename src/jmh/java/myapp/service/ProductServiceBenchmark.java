@@ -0,0 +1,60 @@
+package myapp.service;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import myapp.BenchmarkApplicationContext;
+import myapp.domain.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Benchmark for {@link ProductService#partialUpdate(Product)}, including the transaction, the flush and the
+ * after-commit cache eviction and index update.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ProductServiceBenchmark {
+
+    private ConfigurableApplicationContext context;
+
+    private ProductService productService;
+
+    private Long productId;
+
+    private int quantity;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplicationContext.start();
+        productService = context.getBean(ProductService.class);
+        productId = productService.save(BenchmarkApplicationContext.product(0)).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Product> partialUpdate() {
+        Product patch = new Product();
+        patch.setId(productId);
+        patch.setQuantityInStock(quantity++ % 100);
+        return productService.partialUpdate(patch);
+    }
+}
@@ -0,0 +1,110 @@
+package myapp.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import myapp.BenchmarkApplicationContext;
+import myapp.domain.Product;
+import myapp.repository.ProductRepository;
+import myapp.service.dto.OrderLineDTO;
+import myapp.service.dto.OrderPlacementDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Stress benchmark for {@link OrderService#place(OrderPlacementDTO)}: concurrent orders of two lines on a few products.
+ * <p>
+ * The products have enough stock for the whole run, so that the reservations are measured rather than the rollbacks of
+ * the orders out of stock. The successful reservations are counted per product, and the trial fails if the stock left
+ * in the database does not match them: no product may be oversold. Running out of stock under contention is covered by
+ * {@code ProductRepositoryWithStockImplTest}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Threads(32)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class StockReservationBenchmark {
+
+    private static final int PRODUCTS = 10;
+
+    private static final int INITIAL_STOCK = 10_000_000;
+
+    private ConfigurableApplicationContext context;
+
+    private OrderService orderService;
+
+    private ProductRepository productRepository;
+
+    private final List<Long> productIds = new ArrayList<>(PRODUCTS);
+
+    private final AtomicLongArray reserved = new AtomicLongArray(PRODUCTS);
+
+    private final AtomicInteger orders = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplicationContext.start();
+        orderService = context.getBean(OrderService.class);
+        productRepository = context.getBean(ProductRepository.class);
+        ProductService productService = context.getBean(ProductService.class);
+        for (int i = 0; i < PRODUCTS; i++) {
+            productIds.add(productService.save(BenchmarkApplicationContext.product(i).quantityInStock(INITIAL_STOCK)).getId());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        try {
+            for (int i = 0; i < PRODUCTS; i++) {
+                Product product = productRepository.findById(productIds.get(i)).orElseThrow();
+                long expected = INITIAL_STOCK - reserved.get(i);
+                if (product.getQuantityInStock() != expected) {
+                    throw new IllegalStateException(
+                        "Product " + product.getId() + " has " + product.getQuantityInStock() + " in stock, " + expected + " expected"
+                    );
+                }
+            }
+        } finally {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public boolean placeOrder() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(PRODUCTS);
+        int second = (first + 1 + random.nextInt(PRODUCTS - 1)) % PRODUCTS;
+        int firstQuantity = 1 + random.nextInt(3);
+        int secondQuantity = 1 + random.nextInt(3);
+        OrderPlacementDTO placement = new OrderPlacementDTO();
+        placement.setOrder(BenchmarkApplicationContext.order(orders.incrementAndGet()));
+        placement.getLines().add(new OrderLineDTO(productIds.get(first), firstQuantity));
+        placement.getLines().add(new OrderLineDTO(productIds.get(second), secondQuantity));
+        try {
+            orderService.place(placement);
+        } catch (OutOfStockException e) {
+            return false;
+        }
+        reserved.addAndGet(first, firstQuantity);
+        reserved.addAndGet(second, secondQuantity);
+        return true;
+    }
+}
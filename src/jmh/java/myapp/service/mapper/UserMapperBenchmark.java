@@ -0,0 +1,69 @@
+package myapp.service.mapper;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import myapp.domain.Authority;
+import myapp.domain.User;
+import myapp.security.AuthoritiesConstants;
+import myapp.service.dto.AdminUserDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for {@link UserMapper#usersToAdminUserDTOs(List)}, as used by the user management listing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class UserMapperBenchmark {
+
+    @Param({ "20", "2000" })
+    private int userCount;
+
+    private final UserMapper userMapper = new UserMapper();
+
+    private List<User> users;
+
+    @Setup
+    public void setUp() {
+        Set<Authority> authorities = Set.of(
+            new Authority().name(AuthoritiesConstants.USER),
+            new Authority().name(AuthoritiesConstants.ADMIN)
+        );
+        users = new ArrayList<>(userCount);
+        for (int i = 0; i < userCount; i++) {
+            User user = new User();
+            user.setId((long) i);
+            user.setLogin("user" + i);
+            user.setFirstName("First" + i);
+            user.setLastName("Last" + i);
+            user.setEmail("user" + i + "@localhost");
+            user.setActivated(true);
+            user.setLangKey("en");
+            user.setCreatedBy("system");
+            user.setCreatedDate(Instant.parse("2024-01-01T00:00:00Z"));
+            user.setAuthorities(authorities);
+            users.add(user);
+        }
+    }
+
+    @Benchmark
+    public List<AdminUserDTO> usersToAdminUserDTOs() {
+        return userMapper.usersToAdminUserDTOs(users);
+    }
+}
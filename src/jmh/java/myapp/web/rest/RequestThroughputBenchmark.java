@@ -0,0 +1,89 @@
+package myapp.web.rest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import myapp.BenchmarkApplicationContext;
+import myapp.security.AuthoritiesConstants;
+import myapp.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * Load test of the web tier: 200 concurrent clients reading a page of products, with requests dispatched to the Undertow
+ * worker pool ({@code virtualThreads=false}) or to virtual threads ({@code virtualThreads=true}, Java 21 and later
+ * only, it runs on the worker pool otherwise).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(200)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class RequestThroughputBenchmark {
+
+    @Param({ "false", "true" })
+    private boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient client;
+
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplicationContext.start("--spring.threads.virtual.enabled=" + virtualThreads);
+        ProductService productService = context.getBean(ProductService.class);
+        for (int i = 0; i < 100; i++) {
+            productService.save(BenchmarkApplicationContext.product(i));
+        }
+        String token = context
+            .getBean(AuthenticateController.class)
+            .createToken(
+                new UsernamePasswordAuthenticationToken("admin", null, List.of(new SimpleGrantedAuthority(AuthoritiesConstants.ADMIN))),
+                false
+            );
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/products?page=0&size=20"))
+            .header("Authorization", "Bearer " + token)
+            .GET()
+            .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int listProducts() throws IOException, InterruptedException {
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
@@ -0,0 +1,24 @@
+package myapp.aop.pool;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Takes the database connections of the annotated method, or of all the methods of the annotated class, from a named
+ * pool of {@code application.connection-pools.pools}, instead of the default pool.
+ * <p>
+ * Only the transactions started by the method use the pool: a method joining the transaction of its caller keeps the
+ * connection of the caller.
+ */
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ConnectionPool {
+    /**
+     * @return the name of the pool.
+     */
+    String value();
+}
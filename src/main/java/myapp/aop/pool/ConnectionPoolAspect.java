@@ -0,0 +1,52 @@
+package myapp.aop.pool;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Aspect selecting the connection pool of the methods annotated with {@link ConnectionPool}.
+ * <p>
+ * It runs before the transaction interceptor, so that the transaction gets its connection from the selected pool.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ConnectionPoolAspect {
+
+    /**
+     * Advice that selects the pool of an annotated method.
+     *
+     * @param joinPoint join point for advice.
+     * @param connectionPool the annotation of the method.
+     * @return result.
+     * @throws Throwable the exception thrown by the method.
+     */
+    @Around("@annotation(connectionPool)")
+    public Object aroundAnnotatedMethod(ProceedingJoinPoint joinPoint, ConnectionPool connectionPool) throws Throwable {
+        return proceedWith(joinPoint, connectionPool);
+    }
+
+    /**
+     * Advice that selects the pool of the methods of an annotated class, unless they are annotated themselves.
+     *
+     * @param joinPoint join point for advice.
+     * @param connectionPool the annotation of the class.
+     * @return result.
+     * @throws Throwable the exception thrown by the method.
+     */
+    @Around("@within(connectionPool) && !@annotation(myapp.aop.pool.ConnectionPool)")
+    public Object aroundAnnotatedType(ProceedingJoinPoint joinPoint, ConnectionPool connectionPool) throws Throwable {
+        return proceedWith(joinPoint, connectionPool);
+    }
+
+    private static Object proceedWith(ProceedingJoinPoint joinPoint, ConnectionPool connectionPool) throws Throwable {
+        String previous = ConnectionPoolContext.select(connectionPool.value());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ConnectionPoolContext.restore(previous);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package myapp.aop.pool;
+
+/**
+ * Holds the name of the connection pool selected for the current thread by {@link ConnectionPool}.
+ */
+public final class ConnectionPoolContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private ConnectionPoolContext() {}
+
+    /**
+     * @return the name of the pool selected for the current thread, or {@code null} for the default pool.
+     */
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    static String select(String name) {
+        String previous = CURRENT.get();
+        CURRENT.set(name);
+        return previous;
+    }
+
+    static void restore(String previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
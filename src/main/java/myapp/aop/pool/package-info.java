@@ -0,0 +1,4 @@
+/**
+ * Connection pool selection aspect.
+ */
+package myapp.aop.pool;
@@ -0,0 +1,148 @@
+package myapp.aop.timing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Aspect for timing execution of service, repository and Web REST Spring components.
+ * <p>
+ * Every method gets a {@link Timer} named {@value #METRIC_NAME}, tagged by class, method and outcome, which is created
+ * on its first call and then looked up without allocating. Only a fraction of the calls is timed when
+ * {@code application.method-timing.sample-rate} is below 1, and the aspect is not registered at all when
+ * {@code application.method-timing.enabled} is false.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class MethodTimingAspect {
+
+    public static final String METRIC_NAME = "application.method";
+
+    public static final String CLASS_TAG = "class";
+
+    public static final String METHOD_TAG = "method";
+
+    public static final String OUTCOME_TAG = "outcome";
+
+    private final MeterRegistry registry;
+
+    private final double sampleRate;
+
+    private final ConcurrentMap<Class<?>, ConcurrentMap<Method, MethodTimers>> timers = new ConcurrentHashMap<>();
+
+    public MethodTimingAspect(MeterRegistry registry, double sampleRate) {
+        this.registry = registry;
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Pointcut that matches all repositories, services and Web REST endpoints.
+     */
+    @Pointcut(
+        "within(@org.springframework.stereotype.Repository *)" +
+        " || within(@org.springframework.stereotype.Service *)" +
+        " || within(@org.springframework.web.bind.annotation.RestController *)"
+    )
+    public void springBeanPointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Pointcut that matches all Spring beans in the application's main packages.
+     */
+    @Pointcut("within(myapp.repository..*)" + " || within(myapp.service..*)" + " || within(myapp.web.rest..*)")
+    public void applicationPackagePointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Pointcut that matches all Spring Data repositories, which are JDK proxies outside of the application's packages.
+     */
+    @Pointcut("target(org.springframework.data.repository.Repository)")
+    public void springDataRepositoryPointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Advice that times a method, when the call is sampled.
+     *
+     * @param joinPoint join point for advice.
+     * @return result.
+     * @throws Throwable the exception thrown by the method.
+     */
+    @Around("(applicationPackagePointcut() && springBeanPointcut()) || springDataRepositoryPointcut()")
+    public Object timeAround(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return joinPoint.proceed();
+        }
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            Object result = joinPoint.proceed();
+            success = true;
+            return result;
+        } finally {
+            long duration = System.nanoTime() - start;
+            MethodTimers methodTimers = timers(joinPoint.getTarget().getClass(), ((MethodSignature) joinPoint.getSignature()).getMethod());
+            (success ? methodTimers.success : methodTimers.error).record(duration, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private MethodTimers timers(Class<?> type, Method method) {
+        ConcurrentMap<Method, MethodTimers> typeTimers = timers.get(type);
+        if (typeTimers == null) {
+            typeTimers = timers.computeIfAbsent(type, t -> new ConcurrentHashMap<>());
+        }
+        MethodTimers methodTimers = typeTimers.get(method);
+        if (methodTimers == null) {
+            methodTimers = typeTimers.computeIfAbsent(method, m -> new MethodTimers(className(type), m.getName()));
+        }
+        return methodTimers;
+    }
+
+    /**
+     * The name of the timed class. Spring Data repositories are JDK proxies, named {@code $ProxyNNN} differently on each
+     * start: they are named after the repository interface they implement, the first one outside of Spring.
+     */
+    private static String className(Class<?> type) {
+        if (Proxy.isProxyClass(type)) {
+            for (Class<?> proxiedInterface : type.getInterfaces()) {
+                if (!proxiedInterface.getName().startsWith("org.springframework.")) {
+                    return proxiedInterface.getSimpleName();
+                }
+            }
+        }
+        return type.getSimpleName();
+    }
+
+    private final class MethodTimers {
+
+        private final Timer success;
+
+        private final Timer error;
+
+        private MethodTimers(String className, String methodName) {
+            this.success = timer(className, methodName, "success");
+            this.error = timer(className, methodName, "error");
+        }
+
+        private Timer timer(String className, String methodName, String outcome) {
+            return Timer.builder(METRIC_NAME)
+                .description("Execution time of the repository, service and REST methods")
+                .tags(CLASS_TAG, className, METHOD_TAG, methodName, OUTCOME_TAG, outcome)
+                .register(registry);
+        }
+    }
+}
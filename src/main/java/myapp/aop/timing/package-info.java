@@ -0,0 +1,4 @@
+/**
+ * Timing aspect.
+ */
+package myapp.aop.timing;
@@ -1,5 +1,10 @@
 package myapp.config;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -13,12 +18,102 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final Cache cache = new Cache();
+
+    private final Search search = new Search();
+
+    private final Bulk bulk = new Bulk();
+
+    private final JwtCache jwtCache = new JwtCache();
+
+    private final UserDetailsCache userDetailsCache = new UserDetailsCache();
+
+    private final PasswordHashing passwordHashing = new PasswordHashing();
+
+    private final LoginRateLimit loginRateLimit = new LoginRateLimit();
+
+    private final Async async = new Async();
+
+    private final MailOutbox mailOutbox = new MailOutbox();
+
+    private final UserCleanup userCleanup = new UserCleanup();
+
+    private final MethodTiming methodTiming = new MethodTiming();
+
+    private final ReadReplicas readReplicas = new ReadReplicas();
+
+    private final ConnectionPools connectionPools = new ConnectionPools();
+
+    private final CustomerSummary customerSummary = new CustomerSummary();
+
+    private final CategoryHierarchy categoryHierarchy = new CategoryHierarchy();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Search getSearch() {
+        return search;
+    }
+
+    public Bulk getBulk() {
+        return bulk;
+    }
+
+    public JwtCache getJwtCache() {
+        return jwtCache;
+    }
+
+    public UserDetailsCache getUserDetailsCache() {
+        return userDetailsCache;
+    }
+
+    public PasswordHashing getPasswordHashing() {
+        return passwordHashing;
+    }
+
+    public LoginRateLimit getLoginRateLimit() {
+        return loginRateLimit;
+    }
+
+    public Async getAsync() {
+        return async;
+    }
+
+    public MailOutbox getMailOutbox() {
+        return mailOutbox;
+    }
+
+    public UserCleanup getUserCleanup() {
+        return userCleanup;
+    }
+
+    public MethodTiming getMethodTiming() {
+        return methodTiming;
+    }
+
+    public ReadReplicas getReadReplicas() {
+        return readReplicas;
+    }
+
+    public ConnectionPools getConnectionPools() {
+        return connectionPools;
+    }
+
+    public CustomerSummary getCustomerSummary() {
+        return customerSummary;
+    }
+
+    public CategoryHierarchy getCategoryHierarchy() {
+        return categoryHierarchy;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -33,5 +128,643 @@ public class ApplicationProperties {
             this.asyncStart = asyncStart;
         }
     }
+
+    public static class Cache {
+
+        /**
+         * Per-region overrides of the {@code jhipster.cache.caffeine} defaults, keyed by region name.
+         */
+        private final Map<String, Region> regions = new HashMap<>();
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public static class Region {
+
+            private Long maxEntries;
+
+            private Integer timeToLiveSeconds;
+
+            public Long getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(Long maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+
+            public Integer getTimeToLiveSeconds() {
+                return timeToLiveSeconds;
+            }
+
+            public void setTimeToLiveSeconds(Integer timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+        }
+    }
+
+    public static class Search {
+
+        private String indexDirectory;
+
+        private boolean reindexOnStartup = true;
+
+        public String getIndexDirectory() {
+            return indexDirectory;
+        }
+
+        public void setIndexDirectory(String indexDirectory) {
+            this.indexDirectory = indexDirectory;
+        }
+
+        public boolean isReindexOnStartup() {
+            return reindexOnStartup;
+        }
+
+        public void setReindexOnStartup(boolean reindexOnStartup) {
+            this.reindexOnStartup = reindexOnStartup;
+        }
+    }
+
+    public static class Bulk {
+
+        /**
+         * Number of elements of a bulk request saved per transaction, preferably a multiple of {@code hibernate.jdbc.batch_size}.
+         */
+        private int chunkSize = 500;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    public static class JwtCache {
+
+        /**
+         * Maximum number of valid tokens kept decoded, each until its expiration at the latest.
+         */
+        private long maxEntries = 5000;
+
+        /**
+         * Maximum number of rejected tokens kept, so that they are rejected again without being verified.
+         */
+        private long rejectedMaxEntries = 1000;
+
+        private int rejectedTimeToLiveSeconds = 60;
+
+        public long getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(long maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public long getRejectedMaxEntries() {
+            return rejectedMaxEntries;
+        }
+
+        public void setRejectedMaxEntries(long rejectedMaxEntries) {
+            this.rejectedMaxEntries = rejectedMaxEntries;
+        }
+
+        public int getRejectedTimeToLiveSeconds() {
+            return rejectedTimeToLiveSeconds;
+        }
+
+        public void setRejectedTimeToLiveSeconds(int rejectedTimeToLiveSeconds) {
+            this.rejectedTimeToLiveSeconds = rejectedTimeToLiveSeconds;
+        }
+    }
+
+    public static class UserDetailsCache {
+
+        private long maxEntries = 10000;
+
+        /**
+         * How long a user stays cached. Other instances of the application do not see evictions, so this bounds how
+         * long they can keep accepting a changed password.
+         */
+        private int timeToLiveSeconds = 120;
+
+        public long getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(long maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public int getTimeToLiveSeconds() {
+            return timeToLiveSeconds;
+        }
+
+        public void setTimeToLiveSeconds(int timeToLiveSeconds) {
+            this.timeToLiveSeconds = timeToLiveSeconds;
+        }
+    }
+
+    public static class PasswordHashing {
+
+        /**
+         * Number of passwords hashed at the same time. Half the processors by default, so that the rest of the
+         * application keeps running during a burst of logins.
+         */
+        private int poolSize = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        /**
+         * Number of passwords waiting to be hashed, beyond which requests are rejected with a 503.
+         */
+        private int queueCapacity = 100;
+
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public void setPoolSize(int poolSize) {
+            this.poolSize = poolSize;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    public static class LoginRateLimit {
+
+        private int windowSeconds = 60;
+
+        private int maxAttemptsPerLogin = 10;
+
+        private int maxAttemptsPerAddress = 50;
+
+        /**
+         * Maximum number of logins and addresses tracked at the same time.
+         */
+        private long maxKeys = 100000;
+
+        /**
+         * Number of reverse proxies in front of the application. The client address is then read from the
+         * {@code X-Forwarded-For} header, as appended by the outermost proxy, instead of being the address of the
+         * closest proxy, shared by all the clients.
+         */
+        private int trustedProxies;
+
+        public int getWindowSeconds() {
+            return windowSeconds;
+        }
+
+        public void setWindowSeconds(int windowSeconds) {
+            this.windowSeconds = windowSeconds;
+        }
+
+        public int getMaxAttemptsPerLogin() {
+            return maxAttemptsPerLogin;
+        }
+
+        public void setMaxAttemptsPerLogin(int maxAttemptsPerLogin) {
+            this.maxAttemptsPerLogin = maxAttemptsPerLogin;
+        }
+
+        public int getMaxAttemptsPerAddress() {
+            return maxAttemptsPerAddress;
+        }
+
+        public void setMaxAttemptsPerAddress(int maxAttemptsPerAddress) {
+            this.maxAttemptsPerAddress = maxAttemptsPerAddress;
+        }
+
+        public long getMaxKeys() {
+            return maxKeys;
+        }
+
+        public void setMaxKeys(long maxKeys) {
+            this.maxKeys = maxKeys;
+        }
+
+        public int getTrustedProxies() {
+            return trustedProxies;
+        }
+
+        public void setTrustedProxies(int trustedProxies) {
+            this.trustedProxies = trustedProxies;
+        }
+    }
+
+    public static class Async {
+
+        /**
+         * Time a task may wait in the queue of an executor before the executor adds a thread, up to its maximum size.
+         */
+        private long targetQueueLatencyMillis = 100;
+
+        private final Pool mail = new Pool(1, 8, 10000);
+
+        public long getTargetQueueLatencyMillis() {
+            return targetQueueLatencyMillis;
+        }
+
+        public void setTargetQueueLatencyMillis(long targetQueueLatencyMillis) {
+            this.targetQueueLatencyMillis = targetQueueLatencyMillis;
+        }
+
+        public Pool getMail() {
+            return mail;
+        }
+
+        public static class Pool {
+
+            private int coreSize;
+
+            private int maxSize;
+
+            private int queueCapacity;
+
+            public Pool(int coreSize, int maxSize, int queueCapacity) {
+                this.coreSize = coreSize;
+                this.maxSize = maxSize;
+                this.queueCapacity = queueCapacity;
+            }
+
+            public int getCoreSize() {
+                return coreSize;
+            }
+
+            public void setCoreSize(int coreSize) {
+                this.coreSize = coreSize;
+            }
+
+            public int getMaxSize() {
+                return maxSize;
+            }
+
+            public void setMaxSize(int maxSize) {
+                this.maxSize = maxSize;
+            }
+
+            public int getQueueCapacity() {
+                return queueCapacity;
+            }
+
+            public void setQueueCapacity(int queueCapacity) {
+                this.queueCapacity = queueCapacity;
+            }
+        }
+    }
+
+    public static class MailOutbox {
+
+        /**
+         * Number of mails sent over one SMTP connection, in one transaction.
+         */
+        private int batchSize = 50;
+
+        /**
+         * Delay between two polls of the outbox for the mails to retry. Written mails are sent without waiting for it.
+         */
+        private long pollIntervalMillis = 5000;
+
+        private int maxAttempts = 8;
+
+        /**
+         * Delay before the first retry, doubled on each following one up to {@code max-backoff-seconds}.
+         */
+        private long initialBackoffSeconds = 30;
+
+        private long maxBackoffSeconds = 3600;
+
+        /**
+         * Number of days sent mails are kept in the outbox.
+         */
+        private int retentionDays = 7;
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public long getPollIntervalMillis() {
+            return pollIntervalMillis;
+        }
+
+        public void setPollIntervalMillis(long pollIntervalMillis) {
+            this.pollIntervalMillis = pollIntervalMillis;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public long getInitialBackoffSeconds() {
+            return initialBackoffSeconds;
+        }
+
+        public void setInitialBackoffSeconds(long initialBackoffSeconds) {
+            this.initialBackoffSeconds = initialBackoffSeconds;
+        }
+
+        public long getMaxBackoffSeconds() {
+            return maxBackoffSeconds;
+        }
+
+        public void setMaxBackoffSeconds(long maxBackoffSeconds) {
+            this.maxBackoffSeconds = maxBackoffSeconds;
+        }
+
+        public int getRetentionDays() {
+            return retentionDays;
+        }
+
+        public void setRetentionDays(int retentionDays) {
+            this.retentionDays = retentionDays;
+        }
+    }
+
+    public static class UserCleanup {
+
+        /**
+         * Number of days after which users who did not activate their account are deleted.
+         */
+        private int notActivatedDays = 3;
+
+        /**
+         * Number of users deleted per transaction.
+         */
+        private int chunkSize = 500;
+
+        public int getNotActivatedDays() {
+            return notActivatedDays;
+        }
+
+        public void setNotActivatedDays(int notActivatedDays) {
+            this.notActivatedDays = notActivatedDays;
+        }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    public static class MethodTiming {
+
+        /**
+         * Whether repository, service and REST methods are timed.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Fraction of the calls which are timed, between 0 and 1.
+         */
+        private double sampleRate = 1.0;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+    }
+
+    public static class ReadReplicas {
+
+        /**
+         * Whether read-only transactions are sent to the replicas.
+         */
+        private boolean enabled = false;
+
+        /**
+         * JDBC URLs of the replicas.
+         */
+        private List<String> urls = new ArrayList<>();
+
+        /**
+         * Login username of the replicas, {@code spring.datasource.username} by default.
+         */
+        private String username;
+
+        /**
+         * Login password of the replicas, {@code spring.datasource.password} by default.
+         */
+        private String password;
+
+        /**
+         * Maximum size of the connection pool of each replica.
+         */
+        private int maximumPoolSize = 10;
+
+        /**
+         * Replication lag beyond which a replica no longer gets reads, until it catches up.
+         */
+        private int maxLagSeconds = 10;
+
+        /**
+         * Interval between two checks of the replication lag.
+         */
+        private long lagCheckIntervalMillis = 5000;
+
+        /**
+         * Query returning the replication lag of a replica in seconds, or null when it is up to date.
+         */
+        private String lagQuery =
+            "select case when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0" +
+            " else extract(epoch from now() - pg_last_xact_replay_timestamp()) end";
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public List<String> getUrls() {
+            return urls;
+        }
+
+        public void setUrls(List<String> urls) {
+            this.urls = urls;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public int getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        public void setMaximumPoolSize(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+
+        public int getMaxLagSeconds() {
+            return maxLagSeconds;
+        }
+
+        public void setMaxLagSeconds(int maxLagSeconds) {
+            this.maxLagSeconds = maxLagSeconds;
+        }
+
+        public long getLagCheckIntervalMillis() {
+            return lagCheckIntervalMillis;
+        }
+
+        public void setLagCheckIntervalMillis(long lagCheckIntervalMillis) {
+            this.lagCheckIntervalMillis = lagCheckIntervalMillis;
+        }
+
+        public String getLagQuery() {
+            return lagQuery;
+        }
+
+        public void setLagQuery(String lagQuery) {
+            this.lagQuery = lagQuery;
+        }
+    }
+
+    public static class ConnectionPools {
+
+        /**
+         * Whether the methods annotated with {@code @ConnectionPool} take their connections from the named pools.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Pools of the primary database, by name. The other settings are those of the {@code spring.datasource} pool.
+         */
+        private Map<String, Pool> pools = new LinkedHashMap<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Map<String, Pool> getPools() {
+            return pools;
+        }
+
+        public void setPools(Map<String, Pool> pools) {
+            this.pools = pools;
+        }
+
+        public static class Pool {
+
+            /**
+             * Maximum size of the pool.
+             */
+            private int maximumPoolSize = 4;
+
+            /**
+             * Maximum time to wait for a connection of the pool, before failing.
+             */
+            private long connectionTimeoutMillis = 30000;
+
+            /**
+             * SQL run on each new connection of the pool, typically to set a statement timeout.
+             */
+            private String connectionInitSql;
+
+            public int getMaximumPoolSize() {
+                return maximumPoolSize;
+            }
+
+            public void setMaximumPoolSize(int maximumPoolSize) {
+                this.maximumPoolSize = maximumPoolSize;
+            }
+
+            public long getConnectionTimeoutMillis() {
+                return connectionTimeoutMillis;
+            }
+
+            public void setConnectionTimeoutMillis(long connectionTimeoutMillis) {
+                this.connectionTimeoutMillis = connectionTimeoutMillis;
+            }
+
+            public String getConnectionInitSql() {
+                return connectionInitSql;
+            }
+
+            public void setConnectionInitSql(String connectionInitSql) {
+                this.connectionInitSql = connectionInitSql;
+            }
+        }
+    }
+
+    public static class CustomerSummary {
+
+        /**
+         * Number of the most recent orders in the summary of a customer.
+         */
+        private int recentOrders = 10;
+
+        public int getRecentOrders() {
+            return recentOrders;
+        }
+
+        public void setRecentOrders(int recentOrders) {
+            this.recentOrders = recentOrders;
+        }
+    }
+
+    public static class CategoryHierarchy {
+
+        /**
+         * How long the category tree stays indexed. Other instances of the application do not see the writes, so this
+         * bounds how long they can keep serving the previous tree.
+         */
+        private int timeToLiveSeconds = 60;
+
+        public int getTimeToLiveSeconds() {
+            return timeToLiveSeconds;
+        }
+
+        public void setTimeToLiveSeconds(int timeToLiveSeconds) {
+            this.timeToLiveSeconds = timeToLiveSeconds;
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
@@ -1,48 +1,109 @@
 package myapp.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
 import java.util.concurrent.Executor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.aop.interceptor.SimpleAsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import tech.jhipster.async.ExceptionHandlingAsyncTaskExecutor;
 
+/**
+ * Configuration of the executors of {@code @Async} methods.
+ * <p>
+ * {@code taskExecutor} is the default one. Use sites with their own load, like the mail outbox, name their own executor in
+ * {@code @Async}, so that a backlog on one does not delay the others.
+ */
 @Configuration
 @EnableAsync
 @EnableScheduling
 @Profile("!testdev & !testprod")
 public class AsyncConfiguration implements AsyncConfigurer {
 
+    public static final String MAIL_EXECUTOR = "mailExecutor";
+
     private static final Logger LOG = LoggerFactory.getLogger(AsyncConfiguration.class);
 
     private final TaskExecutionProperties taskExecutionProperties;
 
-    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties) {
+    private final ApplicationProperties applicationProperties;
+
+    private final Environment env;
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public AsyncConfiguration(
+        TaskExecutionProperties taskExecutionProperties,
+        ApplicationProperties applicationProperties,
+        Environment env,
+        ObjectProvider<MeterRegistry> meterRegistry
+    ) {
         this.taskExecutionProperties = taskExecutionProperties;
+        this.applicationProperties = applicationProperties;
+        this.env = env;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
     @Bean(name = "taskExecutor")
     public Executor getAsyncExecutor() {
         LOG.debug("Creating Async Task Executor");
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(taskExecutionProperties.getPool().getCoreSize());
-        executor.setMaxPoolSize(taskExecutionProperties.getPool().getMaxSize());
-        executor.setQueueCapacity(taskExecutionProperties.getPool().getQueueCapacity());
-        executor.setThreadNamePrefix(taskExecutionProperties.getThreadNamePrefix());
-        return new ExceptionHandlingAsyncTaskExecutor(executor);
+        TaskExecutionProperties.Pool pool = taskExecutionProperties.getPool();
+        return new ExceptionHandlingAsyncTaskExecutor(
+            createExecutor(
+                "taskExecutor",
+                taskExecutionProperties.getThreadNamePrefix(),
+                pool.getCoreSize(),
+                pool.getMaxSize(),
+                pool.getQueueCapacity()
+            )
+        );
+    }
+
+    @Bean(name = MAIL_EXECUTOR)
+    public Executor mailExecutor() {
+        LOG.debug("Creating Mail Task Executor");
+        ApplicationProperties.Async.Pool pool = applicationProperties.getAsync().getMail();
+        return new ExceptionHandlingAsyncTaskExecutor(
+            createExecutor(MAIL_EXECUTOR, "sample-app-mail-", pool.getCoreSize(), pool.getMaxSize(), pool.getQueueCapacity())
+        );
     }
 
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new SimpleAsyncUncaughtExceptionHandler();
     }
+
+    private AsyncTaskExecutor createExecutor(String name, String threadNamePrefix, int coreSize, int maxSize, int queueCapacity) {
+        if (Threading.VIRTUAL.isActive(env)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+            executor.setVirtualThreads(true);
+            // Each task may hold a database connection: keep at most as many running as the platform pool would
+            executor.setConcurrencyLimit(maxSize);
+            return executor;
+        }
+        InstrumentedTaskExecutor executor = new InstrumentedTaskExecutor(
+            name,
+            Duration.ofMillis(applicationProperties.getAsync().getTargetQueueLatencyMillis())
+        );
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        meterRegistry.ifAvailable(executor::setMeterRegistry);
+        return executor;
+    }
 }
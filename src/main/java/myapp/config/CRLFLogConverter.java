@@ -2,6 +2,7 @@ package myapp.config;
 
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.pattern.CompositeConverter;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -16,6 +17,8 @@ import org.springframework.boot.ansi.AnsiStyle;
 /**
  * Log filter to prevent attackers from forging log entries by submitting input containing CRLF characters.
  * CRLF characters are replaced with a red colored _ character.
+ * <p>
+ * Messages without any such character, which are nearly all of them, are returned as they are, without allocating.
  *
  * @see <a href="https://owasp.org/www-community/attacks/Log_Injection">Log Forging Description</a>
  * @see <a href="https://github.com/jhipster/generator-jhipster/issues/14949">JHipster issue</a>
@@ -29,6 +32,9 @@ public class CRLFLogConverter extends CompositeConverter<ILoggingEvent> {
         "org.springframework.boot.autoconfigure",
         "org.springframework.boot.diagnostics",
     };
+
+    private static final PrefixTrie SAFE_LOGGERS = new PrefixTrie(SAFE_LOGS);
+
     private static final Map<String, AnsiElement> ELEMENTS;
 
     static {
@@ -43,27 +49,105 @@ public class CRLFLogConverter extends CompositeConverter<ILoggingEvent> {
         ELEMENTS = Collections.unmodifiableMap(ansiElements);
     }
 
+    private AnsiElement element;
+
+    @Override
+    public void start() {
+        element = ELEMENTS.get(getFirstOption());
+        super.start();
+    }
+
     @Override
     protected String transform(ILoggingEvent event, String in) {
-        AnsiElement element = ELEMENTS.get(getFirstOption());
         List<Marker> markers = event.getMarkerList();
         if ((markers != null && !markers.isEmpty() && markers.get(0).contains(CRLF_SAFE_MARKER)) || isLoggerSafe(event)) {
             return in;
         }
+        int first = indexOfUnsafeCharacter(in, 0);
+        if (first < 0) {
+            return in;
+        }
         String replacement = element == null ? "_" : toAnsiString("_", element);
-        return in.replaceAll("[\n\r\t]", replacement);
+        StringBuilder out = new StringBuilder(in.length() + 16);
+        int start = 0;
+        for (int i = first; i >= 0; i = indexOfUnsafeCharacter(in, start)) {
+            out.append(in, start, i).append(replacement);
+            start = i + 1;
+        }
+        return out.append(in, start, in.length()).toString();
     }
 
     protected boolean isLoggerSafe(ILoggingEvent event) {
-        for (String safeLogger : SAFE_LOGS) {
-            if (event.getLoggerName().startsWith(safeLogger)) {
-                return true;
+        return SAFE_LOGGERS.matchesPrefixOf(event.getLoggerName());
+    }
+
+    private static int indexOfUnsafeCharacter(String in, int from) {
+        for (int i = from; i < in.length(); i++) {
+            char c = in.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\t') {
+                return i;
             }
         }
-        return false;
+        return -1;
     }
 
     protected String toAnsiString(String in, AnsiElement element) {
         return AnsiOutput.toString(element, in);
     }
+
+    /**
+     * Character trie of logger name prefixes, which tells in one pass over a logger name whether it starts with one of
+     * them.
+     */
+    private static final class PrefixTrie {
+
+        private char[] keys = new char[0];
+
+        private PrefixTrie[] children = new PrefixTrie[0];
+
+        private boolean terminal;
+
+        private PrefixTrie() {}
+
+        PrefixTrie(String... prefixes) {
+            for (String prefix : prefixes) {
+                PrefixTrie node = this;
+                for (int i = 0; i < prefix.length(); i++) {
+                    node = node.childOrAdd(prefix.charAt(i));
+                }
+                node.terminal = true;
+            }
+        }
+
+        boolean matchesPrefixOf(String name) {
+            PrefixTrie node = this;
+            for (int i = 0; !node.terminal; i++) {
+                if (i == name.length() || (node = node.child(name.charAt(i))) == null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private PrefixTrie child(char key) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == key) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private PrefixTrie childOrAdd(char key) {
+            PrefixTrie child = child(key);
+            if (child == null) {
+                child = new PrefixTrie();
+                keys = Arrays.copyOf(keys, keys.length + 1);
+                keys[keys.length - 1] = key;
+                children = Arrays.copyOf(children, children.length + 1);
+                children[children.length - 1] = child;
+            }
+            return child;
+        }
+    }
 }
@@ -0,0 +1,22 @@
+package myapp.config;
+
+import myapp.aop.pool.ConnectionPoolAspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+
+/**
+ * Configuration of the selection of the connection pools with {@link myapp.aop.pool.ConnectionPool}, enabled with
+ * {@code application.connection-pools.enabled}. The pools are created by {@link DataSourceRoutingConfiguration}.
+ */
+@Configuration
+@EnableAspectJAutoProxy
+@ConditionalOnProperty(prefix = "application.connection-pools", name = "enabled", havingValue = "true")
+public class ConnectionPoolConfiguration {
+
+    @Bean
+    public ConnectionPoolAspect connectionPoolAspect() {
+        return new ConnectionPoolAspect();
+    }
+}
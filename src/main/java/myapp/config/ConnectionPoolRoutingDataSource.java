@@ -0,0 +1,39 @@
+package myapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.Map;
+import myapp.aop.pool.ConnectionPool;
+import myapp.aop.pool.ConnectionPoolContext;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * A {@link javax.sql.DataSource} taking the connections from the pool selected with {@link ConnectionPool}, or from the
+ * default pool when none, or an unknown one, is selected.
+ */
+public class ConnectionPoolRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private final HikariDataSource defaultPool;
+
+    private final Map<String, HikariDataSource> pools;
+
+    public ConnectionPoolRoutingDataSource(HikariDataSource defaultPool, Map<String, HikariDataSource> pools) {
+        this.defaultPool = defaultPool;
+        this.pools = pools;
+        setDefaultTargetDataSource(defaultPool);
+        setTargetDataSources(new HashMap<>(pools));
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ConnectionPoolContext.current();
+    }
+
+    @Override
+    public void close() {
+        pools.values().forEach(HikariDataSource::close);
+        defaultPool.close();
+    }
+}
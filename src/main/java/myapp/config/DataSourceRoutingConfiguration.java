@@ -0,0 +1,148 @@
+package myapp.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.AnyNestedCondition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.util.StringUtils;
+
+/**
+ * Configuration of the connection pools, when the named pools ({@code application.connection-pools.enabled}) or the
+ * read replicas ({@code application.read-replicas.enabled}) are enabled.
+ * <p>
+ * The default connection pool is configured from the {@code spring.datasource} properties as usual. The named pools and
+ * the replicas get a pool with the same settings, but their own name, size and timeouts. Connections are then taken
+ * from the named pool selected with {@link myapp.aop.pool.ConnectionPool} by the {@link ConnectionPoolRoutingDataSource},
+ * and read-only transactions are sent to the replicas by the {@link ReadReplicaDataSource}.
+ */
+@Configuration
+@Conditional(DataSourceRoutingConfiguration.RoutingEnabledCondition.class)
+public class DataSourceRoutingConfiguration implements SchedulingConfigurer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DataSourceRoutingConfiguration.class);
+
+    private final ApplicationProperties.ConnectionPools connectionPools;
+
+    private final ApplicationProperties.ReadReplicas readReplicas;
+
+    private final ObjectProvider<DataSource> dataSource;
+
+    public DataSourceRoutingConfiguration(ApplicationProperties applicationProperties, ObjectProvider<DataSource> dataSource) {
+        this.connectionPools = applicationProperties.getConnectionPools();
+        this.readReplicas = applicationProperties.getReadReplicas();
+        this.dataSource = dataSource;
+    }
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties dataSourceProperties, Environment env, ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(env).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (StringUtils.hasText(dataSourceProperties.getName())) {
+            primary.setPoolName(dataSourceProperties.getName());
+        }
+        // Copied to the other pools, which get the same metrics tagged with their own name
+        meterRegistry.ifAvailable(primary::setMetricRegistry);
+
+        DataSource target = primary;
+        if (connectionPools.isEnabled()) {
+            Map<String, HikariDataSource> pools = new LinkedHashMap<>();
+            connectionPools
+                .getPools()
+                .forEach((name, properties) ->
+                    pools.put(
+                        name,
+                        createPool(primary, name, config -> {
+                            config.setMaximumPoolSize(properties.getMaximumPoolSize());
+                            config.setConnectionTimeout(properties.getConnectionTimeoutMillis());
+                            if (StringUtils.hasText(properties.getConnectionInitSql())) {
+                                config.setConnectionInitSql(properties.getConnectionInitSql());
+                            }
+                        })
+                    )
+                );
+            LOG.info("Using the connection pools {} for the annotated methods", pools.keySet());
+            target = new ConnectionPoolRoutingDataSource(primary, pools);
+        }
+        if (!readReplicas.isEnabled()) {
+            return target;
+        }
+
+        List<HikariDataSource> replicas = new ArrayList<>(readReplicas.getUrls().size());
+        for (String url : readReplicas.getUrls()) {
+            replicas.add(
+                createPool(primary, "replica-" + (replicas.size() + 1), config -> {
+                    config.setJdbcUrl(url);
+                    if (readReplicas.getUsername() != null) {
+                        config.setUsername(readReplicas.getUsername());
+                        config.setPassword(readReplicas.getPassword());
+                    }
+                    config.setMaximumPoolSize(readReplicas.getMaximumPoolSize());
+                    config.setReadOnly(true);
+                    // An unreachable replica must not prevent the application from starting: reads go to the primary instead
+                    config.setInitializationFailTimeout(-1);
+                })
+            );
+        }
+        LOG.info("Sending read-only transactions to {} read replicas", replicas.size());
+
+        ReadReplicaDataSource dataSource = new ReadReplicaDataSource(
+            target,
+            replicas,
+            readReplicas.getMaxLagSeconds(),
+            readReplicas.getLagQuery()
+        );
+        meterRegistry.ifAvailable(dataSource::bindTo);
+        return dataSource;
+    }
+
+    private static HikariDataSource createPool(HikariDataSource primary, String name, Consumer<HikariConfig> customizer) {
+        HikariConfig config = new HikariConfig();
+        primary.copyStateTo(config);
+        config.setPoolName(name);
+        customizer.accept(config);
+        return new HikariDataSource(config);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        if (readReplicas.isEnabled()) {
+            taskRegistrar.addFixedDelayTask(
+                () -> ((ReadReplicaDataSource) dataSource.getObject()).checkReplicationLag(),
+                Duration.ofMillis(readReplicas.getLagCheckIntervalMillis())
+            );
+        }
+    }
+
+    static class RoutingEnabledCondition extends AnyNestedCondition {
+
+        RoutingEnabledCondition() {
+            super(ConfigurationPhase.REGISTER_BEAN);
+        }
+
+        @ConditionalOnProperty(prefix = "application.connection-pools", name = "enabled", havingValue = "true")
+        static class ConnectionPoolsEnabled {}
+
+        @ConditionalOnProperty(prefix = "application.read-replicas", name = "enabled", havingValue = "true")
+        static class ReadReplicasEnabled {}
+    }
+}
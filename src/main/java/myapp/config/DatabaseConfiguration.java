@@ -1,8 +1,11 @@
 package myapp.config;
 
 import java.sql.SQLException;
+import javax.sql.DataSource;
+import myapp.management.IndexAdvisorEndpoint;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
@@ -41,6 +44,12 @@ public class DatabaseConfiguration {
         return H2ConfigurationHelper.createServer(port);
     }
 
+    @Bean
+    @ConditionalOnAvailableEndpoint
+    public IndexAdvisorEndpoint indexAdvisorEndpoint(DataSource dataSource) {
+        return new IndexAdvisorEndpoint(dataSource);
+    }
+
     private String getValidPortForH2() {
         int port = Integer.parseInt(env.getProperty("server.port"));
         if (port < 10000) {
@@ -0,0 +1,68 @@
+package myapp.config;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An {@link AsyncAppender} which counts the events it drops and the events which had to wait for room in its queue.
+ * <p>
+ * Once the queue is nearly full, events below WARN are discarded, and the other events block the logging thread until
+ * there is room for them. The counters are shared by all the instances, so that they are kept when logback reloads its
+ * configuration; {@link #meterBinder(String)} exposes them along with the size of the queue.
+ */
+public class InstrumentedAsyncAppender extends AsyncAppender {
+
+    private static final LongAdder DISCARDED = new LongAdder();
+
+    private static final LongAdder BLOCKED = new LongAdder();
+
+    @Override
+    protected void append(ILoggingEvent eventObject) {
+        if (isQueueBelowDiscardingThreshold() && isDiscardable(eventObject)) {
+            DISCARDED.increment();
+        } else if (getRemainingCapacity() == 0) {
+            if (isNeverBlock()) {
+                DISCARDED.increment();
+            } else {
+                BLOCKED.increment();
+            }
+        }
+        super.append(eventObject);
+    }
+
+    /**
+     * Bind the meters of the asynchronous appender attached to the root logger.
+     *
+     * @param name the name of the appender.
+     * @return the binder.
+     */
+    public static MeterBinder meterBinder(String name) {
+        return registry -> {
+            FunctionCounter.builder("logback.async.discarded", DISCARDED, LongAdder::sum)
+                .description("Indicates count of the log events discarded because the asynchronous appender queue was full.")
+                .register(registry);
+            FunctionCounter.builder("logback.async.blocked", BLOCKED, LongAdder::sum)
+                .description("Indicates count of the log events which waited for room in the asynchronous appender queue.")
+                .register(registry);
+            Gauge.builder("logback.async.queue", () -> queued(name))
+                .description("Indicates number of the log events waiting in the asynchronous appender queue.")
+                .register(registry);
+        };
+    }
+
+    private static int queued(String name) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return 0;
+        }
+        Appender<ILoggingEvent> appender = context.getLogger(Logger.ROOT_LOGGER_NAME).getAppender(name);
+        return appender instanceof AsyncAppender asyncAppender ? asyncAppender.getNumberOfElementsInQueue() : 0;
+    }
+}
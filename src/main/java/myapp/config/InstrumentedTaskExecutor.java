@@ -0,0 +1,140 @@
+package myapp.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * A {@link ThreadPoolTaskExecutor} which publishes its activity to Micrometer, and sizes its pool from the time tasks
+ * wait in its queue.
+ * <p>
+ * A plain thread pool only grows beyond its core size once its queue is full, which never happens with a large queue.
+ * This one adds a core thread whenever a task has waited longer than the target queue latency, up to the maximum pool
+ * size, and removes one per keep-alive period while the queue stays empty, down to the initial core size.
+ * <p>
+ * Meters follow the Micrometer executor conventions, tagged with {@code name}: the pool gauges of
+ * {@link ExecutorServiceMetrics}, {@code executor.idle} for the time tasks waited in the queue, {@code executor} for
+ * their run time and {@code executor.rejected} for the tasks rejected because the queue was full.
+ */
+public class InstrumentedTaskExecutor extends ThreadPoolTaskExecutor implements MeterBinder {
+
+    private static final Logger LOG = LoggerFactory.getLogger(InstrumentedTaskExecutor.class);
+
+    private final String name;
+
+    private final long targetQueueLatencyNanos;
+
+    private MeterRegistry meterRegistry;
+
+    private int minPoolSize = 1;
+
+    private long lastResizeNanos = System.nanoTime();
+
+    private volatile Timer waitTimer;
+
+    private volatile Timer runTimer;
+
+    private volatile Counter rejectedCounter;
+
+    public InstrumentedTaskExecutor(String name, Duration targetQueueLatency) {
+        this.name = name;
+        this.targetQueueLatencyNanos = targetQueueLatency.toNanos();
+        setTaskDecorator(this::instrument);
+    }
+
+    /**
+     * Set the registry the meters are bound to when the executor is initialized.
+     */
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected ExecutorService initializeExecutor(ThreadFactory threadFactory, RejectedExecutionHandler rejectedExecutionHandler) {
+        this.minPoolSize = getCorePoolSize();
+        ExecutorService executor = super.initializeExecutor(threadFactory, (task, pool) -> {
+            Counter counter = rejectedCounter;
+            if (counter != null) {
+                counter.increment();
+            }
+            rejectedExecutionHandler.rejectedExecution(task, pool);
+        });
+        if (meterRegistry != null) {
+            bindTo(meterRegistry);
+        }
+        return executor;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Tags tags = Tags.of(Tag.of("name", name));
+        new ExecutorServiceMetrics(getThreadPoolExecutor(), name, Tags.empty()).bindTo(registry);
+        this.waitTimer = Timer.builder("executor.idle").description("Time tasks waited in the queue").tags(tags).register(registry);
+        this.runTimer = Timer.builder("executor").description("Time tasks ran").tags(tags).register(registry);
+        this.rejectedCounter = Counter.builder("executor.rejected")
+            .description("Tasks rejected because the queue was full")
+            .baseUnit("tasks")
+            .tags(tags)
+            .register(registry);
+    }
+
+    private Runnable instrument(Runnable task) {
+        long submittedAt = System.nanoTime();
+        return () -> {
+            long startedAt = System.nanoTime();
+            long waited = startedAt - submittedAt;
+            record(waitTimer, waited);
+            if (waited > targetQueueLatencyNanos) {
+                grow(waited);
+            }
+            try {
+                task.run();
+            } finally {
+                long finishedAt = System.nanoTime();
+                record(runTimer, finishedAt - startedAt);
+                if (getThreadPoolExecutor().getQueue().isEmpty()) {
+                    shrink(finishedAt);
+                }
+            }
+        };
+    }
+
+    private static void record(Timer timer, long nanos) {
+        if (timer != null) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private synchronized void grow(long waited) {
+        ThreadPoolExecutor executor = getThreadPoolExecutor();
+        int coreSize = executor.getCorePoolSize();
+        if (coreSize < executor.getMaximumPoolSize()) {
+            LOG.debug("Growing {} to {} threads, a task waited {} ms", name, coreSize + 1, TimeUnit.NANOSECONDS.toMillis(waited));
+            executor.setCorePoolSize(coreSize + 1);
+            lastResizeNanos = System.nanoTime();
+        }
+    }
+
+    private synchronized void shrink(long now) {
+        ThreadPoolExecutor executor = getThreadPoolExecutor();
+        int coreSize = executor.getCorePoolSize();
+        if (coreSize > minPoolSize && now - lastResizeNanos > TimeUnit.SECONDS.toNanos(getKeepAliveSeconds())) {
+            LOG.debug("Shrinking {} to {} threads", name, coreSize - 1);
+            executor.setCorePoolSize(coreSize - 1);
+            lastResizeNanos = now;
+        }
+    }
+}
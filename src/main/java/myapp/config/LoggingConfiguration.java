@@ -2,13 +2,19 @@ package myapp.config;
 
 import static tech.jhipster.config.logging.LoggingUtils.*;
 
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import tech.jhipster.config.JHipsterProperties;
 
@@ -18,6 +24,13 @@ import tech.jhipster.config.JHipsterProperties;
 @Configuration
 public class LoggingConfiguration {
 
+    /**
+     * Name of the asynchronous appender of {@code logback-spring.xml}, which writes to the console appender.
+     */
+    public static final String ASYNC_APPENDER_NAME = "ASYNC";
+
+    private static final String CONSOLE_APPENDER_NAME = "CONSOLE";
+
     public LoggingConfiguration(
         @Value("${spring.application.name}") String appName,
         @Value("${server.port}") String serverPort,
@@ -36,6 +49,7 @@ public class LoggingConfiguration {
 
         if (loggingProperties.isUseJsonFormat()) {
             addJsonConsoleAppender(context, customFields);
+            moveConsoleAppenderToAsyncAppender(context);
         }
         if (logstashProperties.isEnabled()) {
             addLogstashTcpSocketAppender(context, customFields, logstashProperties);
@@ -44,4 +58,29 @@ public class LoggingConfiguration {
             addContextListener(context, customFields, loggingProperties);
         }
     }
+
+    @Bean
+    public MeterBinder asyncAppenderMeterBinder() {
+        return InstrumentedAsyncAppender.meterBinder(ASYNC_APPENDER_NAME);
+    }
+
+    /**
+     * The JSON console appender replaces the {@code CONSOLE} appender on the root logger, while the text one is behind
+     * the asynchronous appender: put the JSON one in its place.
+     */
+    private static void moveConsoleAppenderToAsyncAppender(LoggerContext context) {
+        Logger rootLogger = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        if (!(rootLogger.getAppender(ASYNC_APPENDER_NAME) instanceof AsyncAppender asyncAppender)) {
+            return;
+        }
+        Appender<ILoggingEvent> jsonConsoleAppender = rootLogger.getAppender(CONSOLE_APPENDER_NAME);
+        Appender<ILoggingEvent> textConsoleAppender = asyncAppender.getAppender(CONSOLE_APPENDER_NAME);
+        if (jsonConsoleAppender == null || textConsoleAppender == null) {
+            return;
+        }
+        rootLogger.detachAppender(jsonConsoleAppender);
+        asyncAppender.detachAppender(textConsoleAppender);
+        textConsoleAppender.stop();
+        asyncAppender.addAppender(jsonConsoleAppender);
+    }
 }
@@ -0,0 +1,31 @@
+package myapp.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import myapp.aop.timing.MethodTimingAspect;
+import myapp.management.MethodTimingsEndpoint;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+
+/**
+ * Configuration of the timing of repository, service and REST methods, disabled with
+ * {@code application.method-timing.enabled}.
+ */
+@Configuration
+@EnableAspectJAutoProxy
+@ConditionalOnProperty(prefix = "application.method-timing", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class MethodTimingConfiguration {
+
+    @Bean
+    public MethodTimingAspect methodTimingAspect(MeterRegistry registry, ApplicationProperties applicationProperties) {
+        return new MethodTimingAspect(registry, applicationProperties.getMethodTiming().getSampleRate());
+    }
+
+    @Bean
+    @ConditionalOnAvailableEndpoint
+    public MethodTimingsEndpoint methodTimingsEndpoint(MeterRegistry registry, ApplicationProperties applicationProperties) {
+        return new MethodTimingsEndpoint(registry, applicationProperties.getMethodTiming().getSampleRate());
+    }
+}
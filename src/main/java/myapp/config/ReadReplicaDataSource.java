@@ -0,0 +1,157 @@
+package myapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * A {@link javax.sql.DataSource} sending the read-only transactions to read replicas, and the other ones to the primary.
+ * <p>
+ * Connections are only fetched at the first statement, once the transaction has marked them read-only. Read-only
+ * connections are taken from the replicas in turn, skipping the replicas which are unreachable or lag behind the primary
+ * by more than the configured maximum, and from the primary when no replica is available. A replica only gets reads
+ * again once a lag check found it up to date.
+ * <p>
+ * Reads from a replica may not see the latest commits of the primary, including those of the same user.
+ */
+public class ReadReplicaDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReadReplicaDataSource.class);
+
+    private final DataSource primary;
+
+    private final List<Replica> replicas;
+
+    private final double maxLagSeconds;
+
+    private final String lagQuery;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReadReplicaDataSource(DataSource primary, List<HikariDataSource> replicas, double maxLagSeconds, String lagQuery) {
+        super(primary);
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.maxLagSeconds = maxLagSeconds;
+        this.lagQuery = lagQuery;
+        setReadOnlyDataSource(new ReplicaSelector());
+    }
+
+    /**
+     * Register the replication lag and availability of each replica. The connection pools register their own meters.
+     *
+     * @param registry the registry.
+     */
+    public void bindTo(MeterRegistry registry) {
+        for (Replica replica : replicas) {
+            Gauge.builder("datasource.replica.lag", replica, r -> r.lagSeconds)
+                .description("Replication lag of a read replica, at its last check")
+                .baseUnit("seconds")
+                .tag("pool", replica.pool.getPoolName())
+                .register(registry);
+            Gauge.builder("datasource.replica.available", replica, r -> r.available ? 1 : 0)
+                .description("Whether a read replica gets the read-only transactions")
+                .tag("pool", replica.pool.getPoolName())
+                .register(registry);
+        }
+    }
+
+    /**
+     * Check the replication lag of each replica, and make the replicas which are up to date available.
+     */
+    public void checkReplicationLag() {
+        for (Replica replica : replicas) {
+            boolean available;
+            try (
+                Connection connection = replica.pool.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery(lagQuery)
+            ) {
+                replica.lagSeconds = resultSet.next() ? resultSet.getDouble(1) : 0;
+                available = replica.lagSeconds <= maxLagSeconds;
+                if (!available && (replica.available || !replica.checked)) {
+                    LOG.warn("Read replica {} lags {}s behind the primary, reading from the other ones", replica.pool.getPoolName(), replica.lagSeconds);
+                }
+            } catch (SQLException e) {
+                replica.lagSeconds = Double.NaN;
+                available = false;
+                if (replica.available || !replica.checked) {
+                    LOG.warn("Read replica {} is not available, reading from the other ones: {}", replica.pool.getPoolName(), e.getMessage());
+                }
+            }
+            if (available && !replica.available) {
+                LOG.info("Read replica {} is available", replica.pool.getPoolName());
+            }
+            replica.available = available;
+            replica.checked = true;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Replica replica : replicas) {
+            replica.pool.close();
+        }
+        if (primary instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource pool;
+
+        private volatile boolean available;
+
+        private volatile boolean checked;
+
+        private volatile double lagSeconds = Double.NaN;
+
+        private Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+    }
+
+    /**
+     * Takes connections from the available replicas in turn, and from the primary when there is none.
+     */
+    private final class ReplicaSelector extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            int size = replicas.size();
+            int start = Math.floorMod(next.getAndIncrement(), Math.max(1, size));
+            for (int i = 0; i < size; i++) {
+                Replica replica = replicas.get((start + i) % size);
+                if (!replica.available) {
+                    continue;
+                }
+                try {
+                    return replica.pool.getConnection();
+                } catch (SQLException e) {
+                    LOG.warn("Read replica {} is not available, reading from the other ones: {}", replica.pool.getPoolName(), e.getMessage());
+                    replica.available = false;
+                }
+            }
+            return primary.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getConnection();
+        }
+    }
+}
@@ -3,6 +3,7 @@ package myapp.config;
 import static org.springframework.security.config.Customizer.withDefaults;
 import static org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher;
 
+import myapp.management.SecurityMetersService;
 import myapp.security.*;
 import myapp.web.filter.SpaWebFilter;
 import org.springframework.context.annotation.Bean;
@@ -40,8 +41,8 @@ public class SecurityConfiguration {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(SecurityMetersService securityMetersService, ApplicationProperties applicationProperties) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), securityMetersService, applicationProperties.getPasswordHashing());
     }
 
     @Bean
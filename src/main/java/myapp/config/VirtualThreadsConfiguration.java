@@ -0,0 +1,35 @@
+package myapp.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+/**
+ * Configuration of the virtual thread mode, enabled with {@code spring.threads.virtual.enabled} on Java 21 and later.
+ * <p>
+ * Spring Boot only runs Tomcat and Jetty requests on virtual threads, so Undertow is configured here: servlet requests
+ * are dispatched from the IO threads to a new virtual thread each, instead of the worker pool. The {@code taskExecutor}
+ * switches to virtual threads in {@link AsyncConfiguration}. Requests are then no longer bounded by the worker pool,
+ * but by the database connection pool, whose connection timeout is shortened by
+ * {@link VirtualThreadsEnvironmentPostProcessor}.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadsConfiguration.class);
+
+    @Bean
+    public WebServerFactoryCustomizer<UndertowServletWebServerFactory> undertowVirtualThreadsCustomizer() {
+        return factory -> {
+            LOG.info("Dispatching Undertow requests to virtual threads");
+            factory.addDeploymentInfoCustomizers(deploymentInfo -> deploymentInfo.setExecutor(new VirtualThreadTaskExecutor("undertow-")));
+        };
+    }
+}
@@ -0,0 +1,29 @@
+package myapp.config;
+
+import java.util.Map;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+/**
+ * Defaults of the virtual thread mode, enabled with {@code spring.threads.virtual.enabled} on Java 21 and later.
+ * <p>
+ * Requests are then bounded by the database connection pool rather than by the worker pool, so they must fail fast
+ * rather than queue up when it is exhausted: {@code spring.datasource.hikari.connection-timeout} defaults to 5 seconds,
+ * instead of Hikari's 30. The defaults have the lowest precedence, so any configured value is kept.
+ */
+public class VirtualThreadsEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    private static final String PROPERTY_SOURCE_NAME = "virtualThreadsDefaults";
+
+    private static final Map<String, Object> DEFAULTS = Map.of("spring.datasource.hikari.connection-timeout", 5000);
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            environment.getPropertySources().addLast(new MapPropertySource(PROPERTY_SOURCE_NAME, DEFAULTS));
+        }
+    }
+}
@@ -16,8 +16,8 @@ public class Address implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "addressSequenceGenerator")
+    @SequenceGenerator(name = "addressSequenceGenerator", sequenceName = "address_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -14,14 +14,15 @@ import myapp.domain.enumeration.CategoryStatus;
  */
 @Entity
 @Table(name = "category")
+@org.hibernate.annotations.Cache(usage = org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE)
 @SuppressWarnings("common-java:DuplicatedBlocks")
 public class Category implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "categorySequenceGenerator")
+    @SequenceGenerator(name = "categorySequenceGenerator", sequenceName = "category_seq", allocationSize = 20)
     @Column(name = "id")
     private Long id;
 
@@ -56,6 +57,7 @@ public class Category implements Serializable {
         joinColumns = @JoinColumn(name = "category_id"),
         inverseJoinColumns = @JoinColumn(name = "product_id")
     )
+    @org.hibernate.annotations.Cache(usage = org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE)
     @JsonIgnoreProperties(value = { "wishList", "order", "categories" }, allowSetters = true)
     private Set<Product> products = new HashSet<>();
 
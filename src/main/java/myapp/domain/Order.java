@@ -20,8 +20,8 @@ public class Order implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orderSequenceGenerator")
+    @SequenceGenerator(name = "orderSequenceGenerator", sequenceName = "jhi_order_seq", allocationSize = 500)
     @Column(name = "id")
     private Long id;
 
@@ -0,0 +1,115 @@
+package myapp.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+
+/**
+ * A quantity of a product reserved by an order, when it was placed.
+ */
+@Entity
+@Table(name = "order_line")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class OrderLine implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orderLineSequenceGenerator")
+    @SequenceGenerator(name = "orderLineSequenceGenerator", sequenceName = "order_line_seq", allocationSize = 50)
+    @Column(name = "id")
+    private Long id;
+
+    @NotNull
+    @Min(value = 1)
+    @Column(name = "quantity", nullable = false)
+    private Integer quantity;
+
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "order_id", nullable = false)
+    private Order order;
+
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "product_id", nullable = false)
+    private Product product;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public OrderLine id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Integer getQuantity() {
+        return this.quantity;
+    }
+
+    public OrderLine quantity(Integer quantity) {
+        this.setQuantity(quantity);
+        return this;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public Order getOrder() {
+        return this.order;
+    }
+
+    public OrderLine order(Order order) {
+        this.setOrder(order);
+        return this;
+    }
+
+    public void setOrder(Order order) {
+        this.order = order;
+    }
+
+    public Product getProduct() {
+        return this.product;
+    }
+
+    public OrderLine product(Product product) {
+        this.setProduct(product);
+        return this;
+    }
+
+    public void setProduct(Product product) {
+        this.product = product;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OrderLine)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((OrderLine) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OrderLine{" +
+            "id=" + getId() +
+            ", quantity=" + getQuantity() +
+            "}";
+    }
+}
@@ -15,14 +15,15 @@ import myapp.domain.enumeration.ProductStatus;
  */
 @Entity
 @Table(name = "product")
+@org.hibernate.annotations.Cache(usage = org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE)
 @SuppressWarnings("common-java:DuplicatedBlocks")
 public class Product implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "productSequenceGenerator")
+    @SequenceGenerator(name = "productSequenceGenerator", sequenceName = "product_seq", allocationSize = 100)
     @Column(name = "id")
     private Long id;
 
@@ -0,0 +1,252 @@
+package myapp.management;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import myapp.aop.pool.ConnectionPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+/**
+ * Management endpoint reporting the indexes which are missing, or unused, on the tables of the application.
+ * <p>
+ * The foreign keys which are not the leading columns of an index are found from the JDBC metadata, on any database.
+ * On PostgreSQL, the report also lists, from the statistics collected since {@code statsSince}:
+ * <ul>
+ *     <li>the indexes which were never scanned, apart from the unique ones, as candidates for removal;</li>
+ *     <li>the tables read by more sequential scans than index scans, as candidates for a new index;</li>
+ *     <li>the statements on these tables taking the most time, when the {@code pg_stat_statements} extension is
+ *     installed, to find which index is missing.</li>
+ * </ul>
+ */
+@Endpoint(id = "indexadvisor")
+public class IndexAdvisorEndpoint {
+
+    private static final Logger LOG = LoggerFactory.getLogger(IndexAdvisorEndpoint.class);
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    /**
+     * Smaller tables are read faster by a sequential scan than through an index.
+     */
+    private static final long MIN_SEQUENTIAL_SCAN_ROWS = 10_000;
+
+    private static final String STATS_SINCE_QUERY = "select stats_reset from pg_stat_database where datname = current_database()";
+
+    private static final String UNUSED_INDEXES_QUERY =
+        "select s.relname, s.indexrelname, pg_relation_size(s.indexrelid) from pg_stat_user_indexes s" +
+        " join pg_index i on i.indexrelid = s.indexrelid" +
+        " where s.schemaname = current_schema() and s.idx_scan = 0 and not i.indisunique and not i.indisprimary" +
+        " order by pg_relation_size(s.indexrelid) desc";
+
+    private static final String SEQUENTIAL_SCANS_QUERY =
+        "select relname, seq_scan, seq_tup_read, coalesce(idx_scan, 0), n_live_tup from pg_stat_user_tables" +
+        " where schemaname = current_schema() and seq_scan > coalesce(idx_scan, 0) and n_live_tup >= ?" +
+        " order by seq_tup_read desc";
+
+    private static final String STATEMENTS_EXTENSION_QUERY = "select count(*) from pg_extension where extname = 'pg_stat_statements'";
+
+    private static final String STATEMENTS_QUERY =
+        "select query, calls, total_exec_time, mean_exec_time, rows from pg_stat_statements" +
+        " where dbid = (select oid from pg_database where datname = current_database())" +
+        " order by total_exec_time desc";
+
+    private final DataSource dataSource;
+
+    public IndexAdvisorEndpoint(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @ReadOperation
+    @ConnectionPool("reporting")
+    public IndexReport indexAdvisor(@Nullable Integer limit) throws SQLException {
+        int max = limit == null ? DEFAULT_LIMIT : limit;
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            List<String> tables = tables(metaData, connection.getSchema());
+            List<UnindexedForeignKey> unindexedForeignKeys = new ArrayList<>();
+            for (String table : tables) {
+                unindexedForeignKeys.addAll(unindexedForeignKeys(metaData, connection.getSchema(), table));
+            }
+            if (!"PostgreSQL".equals(metaData.getDatabaseProductName())) {
+                return new IndexReport(metaData.getDatabaseProductName(), null, unindexedForeignKeys, List.of(), List.of(), List.of());
+            }
+            return new IndexReport(
+                metaData.getDatabaseProductName(),
+                statsSince(connection),
+                unindexedForeignKeys,
+                unusedIndexes(connection, max),
+                sequentialScans(connection, max),
+                slowStatements(connection, tables, max)
+            );
+        }
+    }
+
+    private static List<String> tables(DatabaseMetaData metaData, String schema) throws SQLException {
+        List<String> tables = new ArrayList<>();
+        try (ResultSet resultSet = metaData.getTables(null, schema, "%", new String[] { "TABLE" })) {
+            while (resultSet.next()) {
+                String table = resultSet.getString("TABLE_NAME");
+                // Liquibase tables
+                if (!table.toLowerCase(Locale.ROOT).startsWith("databasechangelog")) {
+                    tables.add(table);
+                }
+            }
+        }
+        return tables;
+    }
+
+    private static List<UnindexedForeignKey> unindexedForeignKeys(DatabaseMetaData metaData, String schema, String table)
+        throws SQLException {
+        Map<String, List<String>> foreignKeys = new LinkedHashMap<>();
+        Map<String, String> referencedTables = new LinkedHashMap<>();
+        try (ResultSet resultSet = metaData.getImportedKeys(null, schema, table)) {
+            while (resultSet.next()) {
+                String name = resultSet.getString("FK_NAME");
+                foreignKeys.computeIfAbsent(name, key -> new ArrayList<>()).add(resultSet.getString("FKCOLUMN_NAME"));
+                referencedTables.put(name, resultSet.getString("PKTABLE_NAME"));
+            }
+        }
+        if (foreignKeys.isEmpty()) {
+            return List.of();
+        }
+        // Columns of each index, in order
+        Map<String, TreeMap<Short, String>> indexes = new LinkedHashMap<>();
+        try (ResultSet resultSet = metaData.getIndexInfo(null, schema, table, false, true)) {
+            while (resultSet.next()) {
+                String column = resultSet.getString("COLUMN_NAME");
+                if (column != null) {
+                    indexes
+                        .computeIfAbsent(resultSet.getString("INDEX_NAME"), key -> new TreeMap<>())
+                        .put(resultSet.getShort("ORDINAL_POSITION"), column);
+                }
+            }
+        }
+        List<UnindexedForeignKey> unindexed = new ArrayList<>();
+        foreignKeys.forEach((name, columns) -> {
+            boolean indexed = indexes
+                .values()
+                .stream()
+                .map(index -> List.copyOf(index.values()))
+                .anyMatch(index -> index.size() >= columns.size() && index.subList(0, columns.size()).containsAll(columns));
+            if (!indexed) {
+                unindexed.add(
+                    new UnindexedForeignKey(
+                        lowerCase(table),
+                        lowerCase(name),
+                        columns.stream().map(IndexAdvisorEndpoint::lowerCase).toList(),
+                        lowerCase(referencedTables.get(name))
+                    )
+                );
+            }
+        });
+        return unindexed;
+    }
+
+    private static Instant statsSince(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(STATS_SINCE_QUERY); ResultSet resultSet = statement.executeQuery()) {
+            return resultSet.next() && resultSet.getTimestamp(1) != null ? resultSet.getTimestamp(1).toInstant() : null;
+        }
+    }
+
+    private static List<UnusedIndex> unusedIndexes(Connection connection, int limit) throws SQLException {
+        List<UnusedIndex> unusedIndexes = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(UNUSED_INDEXES_QUERY)) {
+            statement.setMaxRows(limit);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    unusedIndexes.add(new UnusedIndex(resultSet.getString(1), resultSet.getString(2), resultSet.getLong(3)));
+                }
+            }
+        }
+        return unusedIndexes;
+    }
+
+    private static List<SequentialScan> sequentialScans(Connection connection, int limit) throws SQLException {
+        List<SequentialScan> sequentialScans = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(SEQUENTIAL_SCANS_QUERY)) {
+            statement.setLong(1, MIN_SEQUENTIAL_SCAN_ROWS);
+            statement.setMaxRows(limit);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    sequentialScans.add(
+                        new SequentialScan(
+                            resultSet.getString(1),
+                            resultSet.getLong(2),
+                            resultSet.getLong(3),
+                            resultSet.getLong(4),
+                            resultSet.getLong(5)
+                        )
+                    );
+                }
+            }
+        }
+        return sequentialScans;
+    }
+
+    private static List<SlowStatement> slowStatements(Connection connection, List<String> tables, int limit) throws SQLException {
+        try (
+            PreparedStatement statement = connection.prepareStatement(STATEMENTS_EXTENSION_QUERY);
+            ResultSet resultSet = statement.executeQuery()
+        ) {
+            if (tables.isEmpty() || !resultSet.next() || resultSet.getInt(1) == 0) {
+                return List.of();
+            }
+        }
+        Pattern tablePattern = Pattern.compile(
+            tables.stream().map(table -> Pattern.quote(lowerCase(table))).collect(Collectors.joining("|", "\\b(", ")\\b")),
+            Pattern.CASE_INSENSITIVE
+        );
+        List<SlowStatement> slowStatements = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(STATEMENTS_QUERY); ResultSet resultSet = statement.executeQuery()) {
+            while (slowStatements.size() < limit && resultSet.next()) {
+                String query = resultSet.getString(1);
+                if (query != null && tablePattern.matcher(query).find()) {
+                    slowStatements.add(
+                        new SlowStatement(query, resultSet.getLong(2), resultSet.getDouble(3), resultSet.getDouble(4), resultSet.getLong(5))
+                    );
+                }
+            }
+        } catch (SQLException e) {
+            // The extension is installed, but not loaded by shared_preload_libraries
+            LOG.debug("Could not read pg_stat_statements: {}", e.getMessage());
+        }
+        return slowStatements;
+    }
+
+    private static String lowerCase(String name) {
+        return name == null ? null : name.toLowerCase(Locale.ROOT);
+    }
+
+    public record IndexReport(
+        String database,
+        Instant statsSince,
+        List<UnindexedForeignKey> unindexedForeignKeys,
+        List<UnusedIndex> unusedIndexes,
+        List<SequentialScan> sequentialScans,
+        List<SlowStatement> slowStatements
+    ) {}
+
+    public record UnindexedForeignKey(String table, String foreignKey, List<String> columns, String referencedTable) {}
+
+    public record UnusedIndex(String table, String index, long sizeBytes) {}
+
+    public record SequentialScan(String table, long sequentialScans, long sequentialRowsRead, long indexScans, long liveRows) {}
+
+    public record SlowStatement(String query, long calls, double totalMillis, double meanMillis, long rows) {}
+}
@@ -0,0 +1,54 @@
+package myapp.management;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Service;
+
+@Service
+public class MailMetersService {
+
+    public static final String OUTBOX_MESSAGES_METER_NAME = "mail.outbox.messages";
+    public static final String OUTBOX_MESSAGES_METER_DESCRIPTION = "Indicates count of the mail outbox delivery attempts, by result.";
+    public static final String OUTBOX_MESSAGES_METER_BASE_UNIT = "messages";
+    public static final String OUTBOX_MESSAGES_METER_RESULT_DIMENSION = "result";
+
+    public static final String OUTBOX_BATCH_METER_NAME = "mail.outbox.batch";
+    public static final String OUTBOX_BATCH_METER_DESCRIPTION = "Indicates delivery time of a batch of mails over one SMTP connection.";
+
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+    private final Timer batchTimer;
+
+    public MailMetersService(MeterRegistry registry) {
+        this.sentCounter = outboxMessagesCounterForResultBuilder("sent").register(registry);
+        this.retriedCounter = outboxMessagesCounterForResultBuilder("retried").register(registry);
+        this.failedCounter = outboxMessagesCounterForResultBuilder("failed").register(registry);
+        this.batchTimer = Timer.builder(OUTBOX_BATCH_METER_NAME).description(OUTBOX_BATCH_METER_DESCRIPTION).register(registry);
+    }
+
+    private Counter.Builder outboxMessagesCounterForResultBuilder(String result) {
+        return Counter.builder(OUTBOX_MESSAGES_METER_NAME)
+            .baseUnit(OUTBOX_MESSAGES_METER_BASE_UNIT)
+            .description(OUTBOX_MESSAGES_METER_DESCRIPTION)
+            .tag(OUTBOX_MESSAGES_METER_RESULT_DIMENSION, result);
+    }
+
+    public void trackSent(int count) {
+        this.sentCounter.increment(count);
+    }
+
+    public void trackRetried() {
+        this.retriedCounter.increment();
+    }
+
+    public void trackFailed() {
+        this.failedCounter.increment();
+    }
+
+    public void recordBatchTime(long nanos) {
+        this.batchTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,77 @@
+package myapp.management;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import myapp.aop.timing.MethodTimingAspect;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+/**
+ * Management endpoint listing the slowest repository, service and REST methods, from the timers of the
+ * {@link MethodTimingAspect}.
+ * <p>
+ * Methods are sorted by {@code max} (the default), {@code mean} or {@code total} time. The maximum is the one of the
+ * recent calls, while the count and the total time are since the start of the application. When only a fraction of the
+ * calls is timed ({@code application.method-timing.sample-rate} below 1), the timers count the sampled calls only: the
+ * count and the total time are scaled up by the sample rate into estimates for all the calls, while the mean and the
+ * maximum are those of the sampled calls.
+ */
+@Endpoint(id = "methodtimings")
+public class MethodTimingsEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final MeterRegistry registry;
+
+    private final double sampleRate;
+
+    public MethodTimingsEndpoint(MeterRegistry registry, double sampleRate) {
+        this.registry = registry;
+        this.sampleRate = sampleRate;
+    }
+
+    @ReadOperation
+    public List<MethodTiming> methodTimings(@Nullable String sort, @Nullable Integer limit) {
+        Comparator<MethodTiming> comparator = switch (sort == null ? "max" : sort.toLowerCase(Locale.ROOT)) {
+            case "mean" -> Comparator.comparingDouble(MethodTiming::meanMillis);
+            case "total" -> Comparator.comparingDouble(MethodTiming::totalMillis);
+            default -> Comparator.comparingDouble(MethodTiming::maxMillis);
+        };
+        return registry
+            .find(MethodTimingAspect.METRIC_NAME)
+            .timers()
+            .stream()
+            .filter(timer -> timer.count() > 0)
+            .map(timer -> MethodTiming.of(timer, sampleRate))
+            .sorted(comparator.reversed())
+            .limit(limit == null ? DEFAULT_LIMIT : limit)
+            .toList();
+    }
+
+    public record MethodTiming(
+        String className,
+        String method,
+        String outcome,
+        long count,
+        double totalMillis,
+        double meanMillis,
+        double maxMillis
+    ) {
+        private static MethodTiming of(Timer timer, double sampleRate) {
+            return new MethodTiming(
+                timer.getId().getTag(MethodTimingAspect.CLASS_TAG),
+                timer.getId().getTag(MethodTimingAspect.METHOD_TAG),
+                timer.getId().getTag(MethodTimingAspect.OUTCOME_TAG),
+                Math.round(timer.count() / sampleRate),
+                timer.totalTime(TimeUnit.MILLISECONDS) / sampleRate,
+                timer.mean(TimeUnit.MILLISECONDS),
+                timer.max(TimeUnit.MILLISECONDS)
+            );
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package myapp.management;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -13,16 +17,76 @@ public class SecurityMetersService {
     public static final String INVALID_TOKENS_METER_BASE_UNIT = "errors";
     public static final String INVALID_TOKENS_METER_CAUSE_DIMENSION = "cause";
 
+    public static final String TOKEN_CACHE_METER_NAME = "security.authentication.token-cache";
+    public static final String TOKEN_CACHE_METER_DESCRIPTION = "Indicates lookup count of the tokens presented by the clients in the cache of decoded tokens.";
+    public static final String TOKEN_CACHE_METER_BASE_UNIT = "lookups";
+    public static final String TOKEN_CACHE_METER_RESULT_DIMENSION = "result";
+
+    public static final String TOKEN_DECODE_METER_NAME = "security.authentication.token-decode";
+    public static final String TOKEN_DECODE_METER_DESCRIPTION = "Indicates decoding time of the tokens which were not found in the cache.";
+
+    public static final String PASSWORD_HASHING_METER_NAME = "security.password-hashing";
+    public static final String PASSWORD_HASHING_METER_DESCRIPTION = "Indicates hashing time of the passwords, once they left the queue.";
+    public static final String PASSWORD_HASHING_METER_OPERATION_DIMENSION = "operation";
+
+    public static final String PASSWORD_HASHING_WAIT_METER_NAME = "security.password-hashing.wait";
+    public static final String PASSWORD_HASHING_WAIT_METER_DESCRIPTION = "Indicates waiting time of the passwords in the password hashing queue.";
+
+    public static final String PASSWORD_HASHING_QUEUE_METER_NAME = "security.password-hashing.queue";
+    public static final String PASSWORD_HASHING_QUEUE_METER_DESCRIPTION = "Indicates number of passwords waiting in the password hashing queue.";
+    public static final String PASSWORD_HASHING_QUEUE_METER_BASE_UNIT = "passwords";
+
+    public static final String PASSWORD_HASHING_REJECTED_METER_NAME = "security.password-hashing.rejected";
+    public static final String PASSWORD_HASHING_REJECTED_METER_DESCRIPTION =
+        "Indicates count of the passwords rejected because the password hashing queue was full.";
+    public static final String PASSWORD_HASHING_REJECTED_METER_BASE_UNIT = "passwords";
+
+    public static final String RATE_LIMITED_METER_NAME = "security.authentication.rate-limited";
+    public static final String RATE_LIMITED_METER_DESCRIPTION = "Indicates count of the authentication attempts rejected by the rate limiter.";
+    public static final String RATE_LIMITED_METER_BASE_UNIT = "attempts";
+    public static final String RATE_LIMITED_METER_KEY_DIMENSION = "key";
+
     private final Counter tokenInvalidSignatureCounter;
     private final Counter tokenExpiredCounter;
     private final Counter tokenUnsupportedCounter;
     private final Counter tokenMalformedCounter;
 
+    private final Counter tokenCacheHitCounter;
+    private final Counter tokenCacheRejectedCounter;
+    private final Counter tokenCacheMissCounter;
+    private final Timer tokenDecodeTimer;
+
+    private final MeterRegistry registry;
+    private final Timer passwordEncodeTimer;
+    private final Timer passwordMatchTimer;
+    private final Timer passwordHashingWaitTimer;
+    private final Counter passwordHashingRejectedCounter;
+    private final Counter loginRateLimitedCounter;
+    private final Counter addressRateLimitedCounter;
+
     public SecurityMetersService(MeterRegistry registry) {
+        this.registry = registry;
         this.tokenInvalidSignatureCounter = invalidTokensCounterForCauseBuilder("invalid-signature").register(registry);
         this.tokenExpiredCounter = invalidTokensCounterForCauseBuilder("expired").register(registry);
         this.tokenUnsupportedCounter = invalidTokensCounterForCauseBuilder("unsupported").register(registry);
         this.tokenMalformedCounter = invalidTokensCounterForCauseBuilder("malformed").register(registry);
+
+        this.tokenCacheHitCounter = tokenCacheCounterForResultBuilder("hit").register(registry);
+        this.tokenCacheRejectedCounter = tokenCacheCounterForResultBuilder("rejected").register(registry);
+        this.tokenCacheMissCounter = tokenCacheCounterForResultBuilder("miss").register(registry);
+        this.tokenDecodeTimer = Timer.builder(TOKEN_DECODE_METER_NAME).description(TOKEN_DECODE_METER_DESCRIPTION).register(registry);
+
+        this.passwordEncodeTimer = passwordHashingTimerForOperationBuilder("encode").register(registry);
+        this.passwordMatchTimer = passwordHashingTimerForOperationBuilder("matches").register(registry);
+        this.passwordHashingWaitTimer = Timer.builder(PASSWORD_HASHING_WAIT_METER_NAME)
+            .description(PASSWORD_HASHING_WAIT_METER_DESCRIPTION)
+            .register(registry);
+        this.passwordHashingRejectedCounter = Counter.builder(PASSWORD_HASHING_REJECTED_METER_NAME)
+            .baseUnit(PASSWORD_HASHING_REJECTED_METER_BASE_UNIT)
+            .description(PASSWORD_HASHING_REJECTED_METER_DESCRIPTION)
+            .register(registry);
+        this.loginRateLimitedCounter = rateLimitedCounterForKeyBuilder("login").register(registry);
+        this.addressRateLimitedCounter = rateLimitedCounterForKeyBuilder("address").register(registry);
     }
 
     private Counter.Builder invalidTokensCounterForCauseBuilder(String cause) {
@@ -32,6 +96,26 @@ public class SecurityMetersService {
             .tag(INVALID_TOKENS_METER_CAUSE_DIMENSION, cause);
     }
 
+    private Counter.Builder tokenCacheCounterForResultBuilder(String result) {
+        return Counter.builder(TOKEN_CACHE_METER_NAME)
+            .baseUnit(TOKEN_CACHE_METER_BASE_UNIT)
+            .description(TOKEN_CACHE_METER_DESCRIPTION)
+            .tag(TOKEN_CACHE_METER_RESULT_DIMENSION, result);
+    }
+
+    private Timer.Builder passwordHashingTimerForOperationBuilder(String operation) {
+        return Timer.builder(PASSWORD_HASHING_METER_NAME)
+            .description(PASSWORD_HASHING_METER_DESCRIPTION)
+            .tag(PASSWORD_HASHING_METER_OPERATION_DIMENSION, operation);
+    }
+
+    private Counter.Builder rateLimitedCounterForKeyBuilder(String key) {
+        return Counter.builder(RATE_LIMITED_METER_NAME)
+            .baseUnit(RATE_LIMITED_METER_BASE_UNIT)
+            .description(RATE_LIMITED_METER_DESCRIPTION)
+            .tag(RATE_LIMITED_METER_KEY_DIMENSION, key);
+    }
+
     public void trackTokenInvalidSignature() {
         this.tokenInvalidSignatureCounter.increment();
     }
@@ -47,4 +131,47 @@ public class SecurityMetersService {
     public void trackTokenMalformed() {
         this.tokenMalformedCounter.increment();
     }
+
+    public void trackTokenCacheHit() {
+        this.tokenCacheHitCounter.increment();
+    }
+
+    public void trackTokenCacheRejected() {
+        this.tokenCacheRejectedCounter.increment();
+    }
+
+    public void trackTokenCacheMiss() {
+        this.tokenCacheMissCounter.increment();
+    }
+
+    public void recordTokenDecodeTime(long nanos) {
+        this.tokenDecodeTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void monitorPasswordHashingQueue(Collection<?> queue) {
+        Gauge.builder(PASSWORD_HASHING_QUEUE_METER_NAME, queue, Collection::size)
+            .baseUnit(PASSWORD_HASHING_QUEUE_METER_BASE_UNIT)
+            .description(PASSWORD_HASHING_QUEUE_METER_DESCRIPTION)
+            .register(registry);
+    }
+
+    public void recordPasswordHashingWaitTime(long nanos) {
+        this.passwordHashingWaitTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordPasswordHashingTime(boolean encode, long nanos) {
+        (encode ? this.passwordEncodeTimer : this.passwordMatchTimer).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void trackPasswordHashingRejected() {
+        this.passwordHashingRejectedCounter.increment();
+    }
+
+    public void trackLoginRateLimited() {
+        this.loginRateLimitedCounter.increment();
+    }
+
+    public void trackAddressRateLimited() {
+        this.addressRateLimitedCounter.increment();
+    }
 }
@@ -1,6 +1,16 @@
 package myapp.repository;
 
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import java.util.stream.Stream;
 import myapp.domain.Address;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +19,25 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface AddressRepository extends JpaRepository<Address, Long> {}
+public interface AddressRepository extends JpaRepository<Address, Long> {
+    List<Address> findAllByCustomerIdOrderById(Long customerId);
+
+    Page<Address> findAllByCustomerId(Long customerId, Pageable pageable);
+
+    Window<Address> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    Window<Address> findAllByCustomerId(Long customerId, ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Read all the addresss by ascending id through a forward-only cursor, for exports. The stream must be consumed and
+     * closed inside a transaction.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        }
+    )
+    @Query("select address from Address address order by address.id")
+    Stream<Address> streamAll();
+}
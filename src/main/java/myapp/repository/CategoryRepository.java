@@ -6,6 +6,7 @@ import myapp.domain.Category;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -16,15 +17,27 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface CategoryRepository extends CategoryRepositoryWithBagRelationships, JpaRepository<Category, Long> {
-    default Optional<Category> findOneWithEagerRelationships(Long id) {
-        return this.fetchBagRelationships(this.findById(id));
-    }
+    @EntityGraph(attributePaths = "products")
+    @Query("select category from Category category where category.id = :id")
+    Optional<Category> findOneWithEagerRelationships(@Param("id") Long id);
+
+    @Query("select category.id as id, parent.id as parentId from Category category left join category.parent parent")
+    List<CategoryLink> findAllLinks();
 
     default List<Category> findAllWithEagerRelationships() {
         return this.fetchBagRelationships(this.findAll());
     }
 
     default Page<Category> findAllWithEagerRelationships(Pageable pageable) {
-        return this.fetchBagRelationships(this.findAll(pageable));
+        return this.findAllWithProducts(pageable);
+    }
+
+    /**
+     * A category id and the id of its parent, {@code null} for root categories.
+     */
+    interface CategoryLink {
+        Long getId();
+
+        Long getParentId();
     }
 }
@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Optional;
 import myapp.domain.Category;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 public interface CategoryRepositoryWithBagRelationships {
     Optional<Category> fetchBagRelationships(Optional<Category> category);
@@ -11,4 +12,6 @@ public interface CategoryRepositoryWithBagRelationships {
     List<Category> fetchBagRelationships(List<Category> categories);
 
     Page<Category> fetchBagRelationships(Page<Category> categories);
+
+    Page<Category> findAllWithProducts(Pageable pageable);
 }
@@ -2,29 +2,38 @@ package myapp.repository;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
-import java.util.Collections;
-import java.util.HashMap;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.JoinType;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.IntStream;
 import myapp.domain.Category;
+import org.hibernate.Session;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.hibernate.query.criteria.JpaCriteriaQuery;
+import org.hibernate.query.criteria.JpaRoot;
+import org.hibernate.query.criteria.JpaSubQuery;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
 
 /**
  * Utility repository to load bag relationships based on https://vladmihalcea.com/hibernate-multiplebagfetchexception/
  */
 public class CategoryRepositoryWithBagRelationshipsImpl implements CategoryRepositoryWithBagRelationships {
 
-    private static final String ID_PARAMETER = "id";
-    private static final String CATEGORIES_PARAMETER = "categories";
+    private static final String IDS_PARAMETER = "ids";
 
     @PersistenceContext
     private EntityManager entityManager;
 
     @Override
     public Optional<Category> fetchBagRelationships(Optional<Category> category) {
-        return category.map(this::fetchProducts);
+        return category.flatMap(result -> fetchProducts(List.of(result)).stream().findFirst());
     }
 
     @Override
@@ -34,27 +43,85 @@ public class CategoryRepositoryWithBagRelationshipsImpl implements CategoryRepos
 
     @Override
     public List<Category> fetchBagRelationships(List<Category> categories) {
-        return Optional.of(categories).map(this::fetchProducts).orElse(Collections.emptyList());
+        return categories.isEmpty() ? List.of() : fetchProducts(categories);
     }
 
-    Category fetchProducts(Category result) {
-        return entityManager
-            .createQuery("select category from Category category left join fetch category.products where category.id = :id", Category.class)
-            .setParameter(ID_PARAMETER, result.getId())
-            .getSingleResult();
+    /**
+     * Read a page of categories with their products, and the number of categories, in a single statement.
+     * <p>
+     * The page is selected by a subquery on the category ids, so that the products joined to each category do not
+     * count in the offset and limit. The rows are ordered by the sort of the page then by id, so that the rows of each
+     * category are adjacent.
+     */
+    @Override
+    public Page<Category> findAllWithProducts(Pageable pageable) {
+        Sort sort = pageable.getSort().getOrderFor("id") == null ? pageable.getSort().and(Sort.by("id")) : pageable.getSort();
+        HibernateCriteriaBuilder cb = entityManager.unwrap(Session.class).getCriteriaBuilder();
+        JpaCriteriaQuery<Tuple> query = cb.createTupleQuery();
+        JpaRoot<Category> category = query.from(Category.class);
+        category.fetch("products", JoinType.LEFT);
+        JpaSubQuery<Long> count = query.subquery(Long.class);
+        count.select(cb.count(count.from(Category.class)));
+        query.multiselect(category, count);
+        if (pageable.isPaged()) {
+            JpaSubQuery<Long> page = query.subquery(Long.class);
+            JpaRoot<Category> paged = page.from(Category.class);
+            page
+                .select(paged.get("id"))
+                .orderBy(QueryUtils.toOrders(sort, paged, cb))
+                .offset(pageable.getOffset())
+                .fetch(pageable.getPageSize());
+            query.where(category.get("id").in(page));
+        }
+        query.orderBy(QueryUtils.toOrders(sort, category, cb));
+
+        List<Tuple> rows = entityManager.createQuery(query).getResultList();
+        List<Category> content = new ArrayList<>(pageable.isPaged() ? pageable.getPageSize() : rows.size());
+        for (Tuple row : rows) {
+            Category current = row.get(0, Category.class);
+            if (content.isEmpty() || content.get(content.size() - 1) != current) {
+                content.add(current);
+            }
+        }
+        // The count is only missing from a page past the end
+        Long total = rows.isEmpty() ? null : rows.get(0).get(1, Long.class);
+        return PageableExecutionUtils.getPage(content, pageable, () -> total != null ? total : count());
+    }
+
+    private long count() {
+        return entityManager.createQuery("select count(category) from Category category", Long.class).getSingleResult();
     }
 
+    /**
+     * Load the products of all the categories with a single query, and return the categories in their original order.
+     * <p>
+     * Inside a transaction the query returns the instances that are already managed, so this only initializes their
+     * products; the lookup by id keeps the result correct when the categories were loaded by another persistence context.
+     * The query returns the categories by id, which are looked up with a binary search rather than through a map.
+     */
     List<Category> fetchProducts(List<Category> categories) {
-        HashMap<Object, Integer> order = new HashMap<>();
-        IntStream.range(0, categories.size()).forEach(index -> order.put(categories.get(index).getId(), index));
-        List<Category> result = entityManager
+        List<Long> ids = new ArrayList<>(categories.size());
+        for (Category category : categories) {
+            ids.add(category.getId());
+        }
+        List<Category> fetched = entityManager
             .createQuery(
-                "select category from Category category left join fetch category.products where category in :categories",
+                "select category from Category category left join fetch category.products where category.id in :ids order by category.id",
                 Category.class
             )
-            .setParameter(CATEGORIES_PARAMETER, categories)
+            .setParameter(IDS_PARAMETER, ids)
             .getResultList();
-        Collections.sort(result, (o1, o2) -> Integer.compare(order.get(o1.getId()), order.get(o2.getId())));
+        long[] fetchedIds = new long[fetched.size()];
+        for (int i = 0; i < fetchedIds.length; i++) {
+            fetchedIds[i] = fetched.get(i).getId();
+        }
+        List<Category> result = new ArrayList<>(categories.size());
+        for (Category category : categories) {
+            int position = Arrays.binarySearch(fetchedIds, category.getId());
+            if (position >= 0) {
+                result.add(fetched.get(position));
+            }
+        }
         return result;
     }
 }
@@ -0,0 +1,30 @@
+package myapp.repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.List;
+import myapp.domain.MailOutboxMessage;
+import myapp.domain.enumeration.MailOutboxStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the MailOutboxMessage entity.
+ */
+@Repository
+public interface MailOutboxMessageRepository extends JpaRepository<MailOutboxMessage, Long> {
+    /**
+     * Lock the messages with the given status which are due, skipping those already locked by another instance.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select message from MailOutboxMessage message where message.status = :status and message.nextAttemptAt <= :now order by message.id")
+    List<MailOutboxMessage> findDueForUpdate(@Param("status") MailOutboxStatus status, @Param("now") Instant now, Pageable pageable);
+
+    @Modifying
+    @Query("delete from MailOutboxMessage message where message.status = :status and message.sentDate < :before")
+    int deleteByStatusAndSentDateBefore(@Param("status") MailOutboxStatus status, @Param("before") Instant before);
+}
@@ -0,0 +1,16 @@
+package myapp.repository;
+
+import myapp.domain.OrderLine;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the OrderLine entity.
+ */
+@Repository
+public interface OrderLineRepository extends JpaRepository<OrderLine, Long> {
+    @Modifying
+    @Query("delete from OrderLine line where line.order.id = :orderId")
+    int deleteByOrderId(@Param("orderId") Long orderId);
+}
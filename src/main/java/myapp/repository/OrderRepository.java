@@ -1,6 +1,14 @@
 package myapp.repository;
 
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import java.util.stream.Stream;
 import myapp.domain.Order;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +17,22 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {}
+public interface OrderRepository extends JpaRepository<Order, Long> {
+    Window<Order> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    List<Order> findAllByCustomerIdOrderByOrderDateDescIdDesc(Long customerId, Limit limit);
+
+    /**
+     * Read all the orders by ascending id through a forward-only cursor, for exports. The stream must be consumed and
+     * closed inside a transaction.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false"),
+        }
+    )
+    @Query("select jhiOrder from Order jhiOrder order by jhiOrder.id")
+    Stream<Order> streamAll();
+}
@@ -1,6 +1,15 @@
 package myapp.repository;
 
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 import myapp.domain.Product;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +18,23 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {}
+public interface ProductRepository
+    extends ProductRepositoryWithProjections, ProductRepositoryWithStock, ProductRepositoryWithCategorySubtree, JpaRepository<Product, Long> {
+    Window<Product> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    List<Product> findAllByOrderIdInOrderById(Collection<Long> orderIds);
+
+    /**
+     * Read all the products by ascending id through a forward-only cursor, for exports. The stream must be consumed and
+     * closed inside a transaction. The second-level cache is neither read nor filled.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"),
+        }
+    )
+    @Query("select product from Product product order by product.id")
+    Stream<Product> streamAll();
+}
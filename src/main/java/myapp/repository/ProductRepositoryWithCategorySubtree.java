@@ -0,0 +1,9 @@
+package myapp.repository;
+
+import myapp.domain.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface ProductRepositoryWithCategorySubtree {
+    Page<Product> findAllByCategorySubtree(Long categoryId, Pageable pageable);
+}
@@ -0,0 +1,55 @@
+package myapp.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import myapp.domain.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+/**
+ * Utility repository to read the products of a category subtree.
+ * <p>
+ * The subtree is walked by the database, with a recursive query on the {@code parent} association, rather than bound
+ * as a list of category ids: PostgreSQL accepts at most 32767 parameters per statement. The walk stops at a category
+ * already reached, so that a parent cycle does not loop.
+ */
+public class ProductRepositoryWithCategorySubtreeImpl implements ProductRepositoryWithCategorySubtree {
+
+    private static final String SUBTREE =
+        "with subtree as (" +
+        "select category.id as id from Category category where category.id = :categoryId" +
+        " union all select child.id as id from Category child join subtree parent on child.parent.id = parent.id)" +
+        " cycle id set cyclic to true default false ";
+
+    private static final String PRODUCTS_OF_SUBTREE =
+        " from Product product where exists (" +
+        "select 1 from Product linked join linked.categories category" +
+        " where linked.id = product.id and category.id in (select subtree.id from subtree subtree))";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Read a page of the products linked to a category or to one of its descendants.
+     */
+    @Override
+    public Page<Product> findAllByCategorySubtree(Long categoryId, Pageable pageable) {
+        // Sorted here, as Spring Data would insert the order by into the subtree query
+        String query = QueryUtils.applySorting(SUBTREE + "select product" + PRODUCTS_OF_SUBTREE, pageable.getSort(), "product");
+        TypedQuery<Product> typedQuery = entityManager.createQuery(query, Product.class).setParameter("categoryId", categoryId);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(typedQuery.getResultList(), pageable, () -> count(categoryId));
+    }
+
+    private long count(Long categoryId) {
+        return entityManager
+            .createQuery(SUBTREE + "select count(product)" + PRODUCTS_OF_SUBTREE, Long.class)
+            .setParameter("categoryId", categoryId)
+            .getSingleResult();
+    }
+}
@@ -0,0 +1,10 @@
+package myapp.repository;
+
+import jakarta.persistence.Tuple;
+import java.util.Collection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface ProductRepositoryWithProjections {
+    Page<Tuple> findAllAttributes(Collection<String> attributes, Pageable pageable);
+}
@@ -0,0 +1,58 @@
+package myapp.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import myapp.domain.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+/**
+ * Utility repository to read some attributes of the products as tuples.
+ * <p>
+ * Only the requested columns are selected: no entity is hydrated, registered in the persistence context or
+ * snapshotted for dirty checking.
+ */
+public class ProductRepositoryWithProjectionsImpl implements ProductRepositoryWithProjections {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Read the given attributes of a page of products. Each tuple element has the name of its attribute as alias.
+     */
+    @Override
+    public Page<Tuple> findAllAttributes(Collection<String> attributes, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Product> product = query.from(Product.class);
+        List<Selection<?>> selections = new ArrayList<>(attributes.size());
+        for (String attribute : attributes) {
+            selections.add(product.get(attribute).alias(attribute));
+        }
+        query.multiselect(selections);
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), product, cb));
+        }
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(typedQuery.getResultList(), pageable, this::count);
+    }
+
+    private long count() {
+        return entityManager.createQuery("select count(product) from Product product", Long.class).getSingleResult();
+    }
+}
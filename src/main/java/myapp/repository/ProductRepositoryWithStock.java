@@ -0,0 +1,5 @@
+package myapp.repository;
+
+public interface ProductRepositoryWithStock {
+    boolean[] reserveStock(long[] productIds, int[] quantities);
+}
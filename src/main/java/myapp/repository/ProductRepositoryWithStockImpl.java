@@ -0,0 +1,51 @@
+package myapp.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.sql.PreparedStatement;
+import org.hibernate.Session;
+
+/**
+ * Utility repository to reserve stock with conditional updates.
+ * <p>
+ * The stock of a product is decremented by the database, only if it is large enough, so that concurrent orders cannot
+ * both reserve the last products. The entities are bypassed: the caller must evict them from the second-level cache.
+ */
+public class ProductRepositoryWithStockImpl implements ProductRepositoryWithStock {
+
+    private static final String RESERVE_STOCK_SQL =
+        "update product set quantity_in_stock = quantity_in_stock - ?," +
+        " status = case when quantity_in_stock = ? and status = 'IN_STOCK' then 'OUT_OF_STOCK' else status end" +
+        " where id = ? and quantity_in_stock >= ?";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Reserve a quantity of each product, in one JDBC batch. A product left without stock becomes out of stock.
+     *
+     * @return whether each quantity was reserved: it is not when the product does not exist or has not enough stock.
+     */
+    @Override
+    public boolean[] reserveStock(long[] productIds, int[] quantities) {
+        return entityManager
+            .unwrap(Session.class)
+            .doReturningWork(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(RESERVE_STOCK_SQL)) {
+                    for (int i = 0; i < productIds.length; i++) {
+                        statement.setInt(1, quantities[i]);
+                        statement.setInt(2, quantities[i]);
+                        statement.setLong(3, productIds[i]);
+                        statement.setInt(4, quantities[i]);
+                        statement.addBatch();
+                    }
+                    int[] updateCounts = statement.executeBatch();
+                    boolean[] reserved = new boolean[updateCounts.length];
+                    for (int i = 0; i < updateCounts.length; i++) {
+                        reserved[i] = updateCounts[i] > 0;
+                    }
+                    return reserved;
+                }
+            });
+    }
+}
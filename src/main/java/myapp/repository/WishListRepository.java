@@ -1,6 +1,16 @@
 package myapp.repository;
 
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import java.util.stream.Stream;
 import myapp.domain.WishList;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +19,29 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface WishListRepository extends JpaRepository<WishList, Long> {}
+public interface WishListRepository extends JpaRepository<WishList, Long> {
+    List<WishList> findAllByCustomerIdOrderById(Long customerId);
+
+    Page<WishList> findAllByCustomerId(Long customerId, Pageable pageable);
+
+    Page<WishList> findAllByTitleContainingIgnoreCase(String title, Pageable pageable);
+
+    Page<WishList> findAllByCustomerIdAndTitleContainingIgnoreCase(Long customerId, String title, Pageable pageable);
+
+    Window<WishList> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    Window<WishList> findAllByCustomerId(Long customerId, ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Read all the wishLists by ascending id through a forward-only cursor, for exports. The stream must be consumed and
+     * closed inside a transaction.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        }
+    )
+    @Query("select wishList from WishList wishList order by wishList.id")
+    Stream<WishList> streamAll();
+}
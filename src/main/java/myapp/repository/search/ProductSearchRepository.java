@@ -0,0 +1,301 @@
+package myapp.repository.search;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import myapp.config.ApplicationProperties;
+import myapp.domain.Product;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Full-text search index for the {@link Product} entity, stored as a Lucene index on local disk.
+ * <p>
+ * Only the product id is stored: searches return ranked ids, and the products are then loaded from the database.
+ */
+@Repository
+public class ProductSearchRepository implements DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProductSearchRepository.class);
+
+    private static final String ID_FIELD = "id";
+    private static final String TITLE_FIELD = "title";
+    private static final String KEYWORDS_FIELD = "keywords";
+    private static final String DESCRIPTION_FIELD = "description";
+    private static final String GENERATION_FIELD = "generation";
+
+    private static final Map<String, Float> FIELD_BOOSTS = Map.of(TITLE_FIELD, 3f, KEYWORDS_FIELD, 2f, DESCRIPTION_FIELD, 1f);
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+
+    private final Path indexDirectory;
+
+    private final Directory directory;
+
+    private final IndexWriter indexWriter;
+
+    private final SearcherManager searcherManager;
+
+    /**
+     * Generation of the documents written now. It is initialized from the clock so that it is ahead of the
+     * generations of the documents already on disk.
+     */
+    private volatile long generation = System.currentTimeMillis();
+
+    /**
+     * Ids of the products written since the running rebuild started, {@code null} when no rebuild is running.
+     */
+    private volatile Set<Long> writtenDuringRebuild;
+
+    public ProductSearchRepository(ApplicationProperties applicationProperties) throws IOException {
+        this.indexDirectory = Path.of(applicationProperties.getSearch().getIndexDirectory()).toAbsolutePath().normalize();
+        LOG.debug("Opening Product search index in {}", indexDirectory);
+        Files.createDirectories(indexDirectory);
+        this.directory = FSDirectory.open(indexDirectory);
+        this.indexWriter = new IndexWriter(directory, new IndexWriterConfig(analyzer).setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        this.searcherManager = new SearcherManager(indexWriter, null);
+    }
+
+    /**
+     * Add or replace a product in the index.
+     * <p>
+     * The change becomes visible to searches with the next {@link #refresh()}, and durable with the next {@link #commit()}.
+     *
+     * @param product the product to index.
+     */
+    public void index(Product product) {
+        write(product.getId(), () -> indexWriter.updateDocument(idTerm(product.getId()), toDocument(product, generation)));
+    }
+
+    /**
+     * Remove a product from the index.
+     * <p>
+     * The change becomes visible to searches with the next {@link #refresh()}, and durable with the next {@link #commit()}.
+     *
+     * @param id the id of the product.
+     */
+    public void deleteFromIndexById(Long id) {
+        write(id, () -> indexWriter.deleteDocuments(idTerm(id)));
+    }
+
+    /**
+     * Rebuild the whole index content in place, while searches and product writes go on.
+     * <p>
+     * Each product read is indexed with a new generation, unless it was indexed or deleted by a product write since the
+     * rebuild started: that write is more recent than what was read. The documents of the previous generations, whose
+     * products no longer exist, are then deleted. If reading the products fails, the index is left with the products
+     * indexed so far, and the stale documents until the next rebuild.
+     *
+     * @param batches the products to index, read in batches.
+     * @return the number of indexed products.
+     */
+    public long reindexAll(Iterable<List<Product>> batches) {
+        long count = 0;
+        long rebuildGeneration = generation + 1;
+        Set<Long> written = ConcurrentHashMap.newKeySet();
+        // In this order, a product write seeing the rebuild running also writes the new generation
+        generation = rebuildGeneration;
+        writtenDuringRebuild = written;
+        try {
+            for (List<Product> batch : batches) {
+                for (Product product : batch) {
+                    synchronized (written) {
+                        if (!written.contains(product.getId())) {
+                            indexWriter.updateDocument(idTerm(product.getId()), toDocument(product, rebuildGeneration));
+                        }
+                    }
+                }
+                count += batch.size();
+            }
+            indexWriter.deleteDocuments(
+                new BooleanQuery.Builder()
+                    .add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST)
+                    .add(LongPoint.newExactQuery(GENERATION_FIELD, rebuildGeneration), BooleanClause.Occur.MUST_NOT)
+                    .build()
+            );
+            indexWriter.commit();
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            writtenDuringRebuild = null;
+        }
+        return count;
+    }
+
+    /**
+     * Search the products matching a query, ordered by relevance.
+     * <p>
+     * The query supports the Lucene query syntax. Queries that cannot be parsed are searched as plain text.
+     *
+     * @param query the query.
+     * @param pageable the pagination information, its sort is ignored.
+     * @return the page of matching product ids. The total may be a lower bound for very broad queries.
+     */
+    public Page<Long> search(String query, Pageable pageable) {
+        Query luceneQuery = parse(query);
+        int offset = (int) Math.min(pageable.getOffset(), Integer.MAX_VALUE - pageable.getPageSize());
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            TopDocs topDocs = searcher.search(luceneQuery, offset + pageable.getPageSize());
+            List<Long> ids = new ArrayList<>(pageable.getPageSize());
+            for (int i = offset; i < topDocs.scoreDocs.length; i++) {
+                ScoreDoc scoreDoc = topDocs.scoreDocs[i];
+                ids.add(Long.valueOf(searcher.storedFields().document(scoreDoc.doc).get(ID_FIELD)));
+            }
+            return new PageImpl<>(ids, pageable, topDocs.totalHits.value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            release(searcher);
+        }
+    }
+
+    /**
+     * Make the latest index changes visible to searches.
+     * <p>
+     * Reopening the index reader is done in the background rather than on every product write, so searches may lag
+     * behind writes by up to a second.
+     */
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.SECONDS)
+    public void refresh() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Flush the pending index changes to disk.
+     * <p>
+     * Committing syncs the index files, which is too slow to do on every product write.
+     */
+    @Scheduled(fixedDelay = 10, timeUnit = TimeUnit.SECONDS)
+    public void commit() {
+        if (!indexWriter.hasUncommittedChanges()) {
+            return;
+        }
+        try {
+            indexWriter.commit();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        LOG.debug("Closing Product search index");
+        searcherManager.close();
+        indexWriter.close();
+        directory.close();
+    }
+
+    private Query parse(String query) {
+        String[] fields = FIELD_BOOSTS.keySet().toArray(String[]::new);
+        MultiFieldQueryParser parser = new MultiFieldQueryParser(fields, analyzer, FIELD_BOOSTS);
+        parser.setDefaultOperator(QueryParser.Operator.AND);
+        try {
+            return parser.parse(query);
+        } catch (ParseException e) {
+            try {
+                return parser.parse(QueryParser.escape(query));
+            } catch (ParseException escapedException) {
+                throw new IllegalArgumentException("Invalid search query: " + query, escapedException);
+            }
+        }
+    }
+
+    /**
+     * Apply a product write to the index. During a rebuild, the product is recorded so that the rebuild does not
+     * overwrite it with the state it read before.
+     */
+    private void write(Long id, IndexWrite write) {
+        Set<Long> written = writtenDuringRebuild;
+        try {
+            if (written == null) {
+                write.apply();
+                return;
+            }
+            synchronized (written) {
+                written.add(id);
+                write.apply();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Document toDocument(Product product, long generation) {
+        Document document = new Document();
+        document.add(new StringField(ID_FIELD, String.valueOf(product.getId()), Field.Store.YES));
+        document.add(new LongPoint(GENERATION_FIELD, generation));
+        addText(document, TITLE_FIELD, product.getTitle());
+        addText(document, KEYWORDS_FIELD, product.getKeywords());
+        addText(document, DESCRIPTION_FIELD, product.getDescription());
+        return document;
+    }
+
+    private void addText(Document document, String field, String value) {
+        if (value != null) {
+            document.add(new TextField(field, value, Field.Store.NO));
+        }
+    }
+
+    private Term idTerm(Long id) {
+        return new Term(ID_FIELD, String.valueOf(id));
+    }
+
+    @FunctionalInterface
+    private interface IndexWrite {
+        void apply() throws IOException;
+    }
+
+    private void release(IndexSearcher searcher) {
+        if (searcher == null) {
+            return;
+        }
+        try {
+            searcherManager.release(searcher);
+        } catch (IOException e) {
+            LOG.warn("Could not release Product index searcher", e);
+        }
+    }
+}
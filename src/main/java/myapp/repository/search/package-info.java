@@ -0,0 +1,4 @@
+/**
+ * Search index repositories.
+ */
+package myapp.repository.search;
@@ -0,0 +1,105 @@
+package myapp.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import myapp.config.ApplicationProperties;
+import myapp.management.SecurityMetersService;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * A {@link PasswordEncoder} which runs the hashing of its delegate on a dedicated, bounded pool.
+ * <p>
+ * Password hashing is slow on purpose, so a burst of logins could otherwise take every CPU from the request threads.
+ * At most {@code pool-size} passwords are hashed at the same time; callers wait for their turn in a bounded queue, and
+ * fail with a {@link PasswordHashingRejectedException} when it is full.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+
+    private final SecurityMetersService metersService;
+
+    private final ThreadPoolExecutor executor;
+
+    public BoundedPasswordEncoder(
+        PasswordEncoder delegate,
+        SecurityMetersService metersService,
+        ApplicationProperties.PasswordHashing properties
+    ) {
+        this.delegate = delegate;
+        this.metersService = metersService;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("password-hashing-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(
+            properties.getPoolSize(),
+            properties.getPoolSize(),
+            0,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+            threadFactory,
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+        metersService.monitorPasswordHashingQueue(executor.getQueue());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hash(() -> delegate.encode(rawPassword), true);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hash(() -> delegate.matches(rawPassword, encodedPassword), false);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> T hash(Supplier<T> hashing, boolean encode) {
+        long submittedAt = System.nanoTime();
+        Future<T> result;
+        try {
+            result = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                metersService.recordPasswordHashingWaitTime(startedAt - submittedAt);
+                try {
+                    return hashing.get();
+                } finally {
+                    metersService.recordPasswordHashingTime(encode, System.nanoTime() - startedAt);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            metersService.trackPasswordHashingRejected();
+            throw new PasswordHashingRejectedException(e);
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.cancel(true);
+            throw new PasswordHashingRejectedException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package myapp.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import myapp.config.ApplicationProperties;
+import myapp.management.SecurityMetersService;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * A {@link JwtDecoder} which keeps the outcome of decoding a token, so that a token presented again is neither parsed
+ * nor verified again.
+ * <p>
+ * Tokens are keyed by their SHA-256 digest, so that the cache does not hold usable credentials. A valid token is kept
+ * until its {@code exp} claim at the latest; a rejected token is kept for a short time, and the same exception is
+ * thrown again.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private static final Base64.Encoder KEY_ENCODER = Base64.getEncoder().withoutPadding();
+
+    private final JwtDecoder delegate;
+
+    private final SecurityMetersService metersService;
+
+    private final Cache<String, Jwt> validTokens;
+
+    private final Cache<String, JwtException> rejectedTokens;
+
+    public CachingJwtDecoder(JwtDecoder delegate, SecurityMetersService metersService, ApplicationProperties.JwtCache properties) {
+        this.delegate = delegate;
+        this.metersService = metersService;
+        this.validTokens = Caffeine.newBuilder()
+            .maximumSize(properties.getMaxEntries())
+            .expireAfter(new ExpiresAtExpiry())
+            .build();
+        this.rejectedTokens = Caffeine.newBuilder()
+            .maximumSize(properties.getRejectedMaxEntries())
+            .expireAfterWrite(Duration.ofSeconds(properties.getRejectedTimeToLiveSeconds()))
+            .build();
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String key = digest(token);
+        Jwt jwt = validTokens.getIfPresent(key);
+        if (jwt != null) {
+            metersService.trackTokenCacheHit();
+            return jwt;
+        }
+        JwtException rejection = rejectedTokens.getIfPresent(key);
+        if (rejection != null) {
+            metersService.trackTokenCacheRejected();
+            throw rejection;
+        }
+        metersService.trackTokenCacheMiss();
+        long start = System.nanoTime();
+        try {
+            jwt = delegate.decode(token);
+        } catch (JwtException e) {
+            rejectedTokens.put(key, e);
+            throw e;
+        } finally {
+            metersService.recordTokenDecodeTime(System.nanoTime() - start);
+        }
+        validTokens.put(key, jwt);
+        return jwt;
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return KEY_ENCODER.encodeToString(messageDigest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Expires a decoded token at its {@code exp} claim, or immediately if it has none.
+     */
+    private static final class ExpiresAtExpiry implements Expiry<String, Jwt> {
+
+        @Override
+        public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+            Instant expiresAt = jwt.getExpiresAt();
+            if (expiresAt == null) {
+                return 0;
+            }
+            return Math.max(0, Duration.between(Instant.now(), expiresAt).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, jwt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package myapp.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
 import java.util.*;
+import myapp.config.ApplicationProperties;
 import myapp.domain.Authority;
 import myapp.domain.User;
 import myapp.repository.UserRepository;
@@ -13,19 +17,37 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * Authenticate a user from the database.
+ * <p>
+ * Activated users are kept in a local cache, keyed by lowercase login and by lowercase email. Changes made through the
+ * {@code UserService} evict them once committed.
  */
 @Component("userDetailsService")
 public class DomainUserDetailsService implements UserDetailsService {
 
     private static final Logger LOG = LoggerFactory.getLogger(DomainUserDetailsService.class);
 
+    private static final EmailValidator EMAIL_VALIDATOR = new EmailValidator();
+
+    private static final String LOGIN_KEY_PREFIX = "login:";
+
+    private static final String EMAIL_KEY_PREFIX = "email:";
+
     private final UserRepository userRepository;
 
-    public DomainUserDetailsService(UserRepository userRepository) {
+    private final Cache<String, UserDetails> users;
+
+    public DomainUserDetailsService(UserRepository userRepository, ApplicationProperties applicationProperties) {
         this.userRepository = userRepository;
+        ApplicationProperties.UserDetailsCache cacheProperties = applicationProperties.getUserDetailsCache();
+        this.users = Caffeine.newBuilder()
+            .maximumSize(cacheProperties.getMaxEntries())
+            .expireAfterWrite(Duration.ofSeconds(cacheProperties.getTimeToLiveSeconds()))
+            .build();
     }
 
     @Override
@@ -33,18 +55,62 @@ public class DomainUserDetailsService implements UserDetailsService {
     public UserDetails loadUserByUsername(final String login) {
         LOG.debug("Authenticating {}", login);
 
-        if (new EmailValidator().isValid(login, null)) {
-            return userRepository
-                .findOneWithAuthoritiesByEmailIgnoreCase(login)
-                .map(user -> createSpringSecurityUser(login, user))
-                .orElseThrow(() -> new UsernameNotFoundException("User with email " + login + " was not found in the database"));
+        if (EMAIL_VALIDATOR.isValid(login, null)) {
+            String key = EMAIL_KEY_PREFIX + login.toLowerCase(Locale.ENGLISH);
+            return copyOf(
+                users.get(key, k ->
+                    userRepository
+                        .findOneWithAuthoritiesByEmailIgnoreCase(login)
+                        .map(user -> createSpringSecurityUser(login, user))
+                        .orElseThrow(() -> new UsernameNotFoundException("User with email " + login + " was not found in the database"))
+                )
+            );
         }
 
         String lowercaseLogin = login.toLowerCase(Locale.ENGLISH);
-        return userRepository
-            .findOneWithAuthoritiesByLogin(lowercaseLogin)
-            .map(user -> createSpringSecurityUser(lowercaseLogin, user))
-            .orElseThrow(() -> new UsernameNotFoundException("User " + lowercaseLogin + " was not found in the database"));
+        return copyOf(
+            users.get(LOGIN_KEY_PREFIX + lowercaseLogin, k ->
+                userRepository
+                    .findOneWithAuthoritiesByLogin(lowercaseLogin)
+                    .map(user -> createSpringSecurityUser(lowercaseLogin, user))
+                    .orElseThrow(() -> new UsernameNotFoundException("User " + lowercaseLogin + " was not found in the database"))
+            )
+        );
+    }
+
+    /**
+     * Evict a user from the cache once the current transaction has committed.
+     *
+     * @param login the login of the user, before and after the change.
+     * @param email the email of the user, before and after the change.
+     */
+    public void evictAfterCommit(String login, String email) {
+        List<String> keys = new ArrayList<>(2);
+        if (login != null) {
+            keys.add(LOGIN_KEY_PREFIX + login.toLowerCase(Locale.ENGLISH));
+        }
+        if (email != null) {
+            keys.add(EMAIL_KEY_PREFIX + email.toLowerCase(Locale.ENGLISH));
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            users.invalidateAll(keys);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    users.invalidateAll(keys);
+                }
+            }
+        );
+    }
+
+    /**
+     * The authentication manager erases the password of the user it authenticated, so it must not get the cached instance.
+     */
+    private static UserDetails copyOf(UserDetails user) {
+        return org.springframework.security.core.userdetails.User.withUserDetails(user).build();
     }
 
     private org.springframework.security.core.userdetails.User createSpringSecurityUser(String lowercaseLogin, User user) {
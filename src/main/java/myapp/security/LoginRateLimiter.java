@@ -0,0 +1,134 @@
+package myapp.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.Locale;
+import myapp.config.ApplicationProperties;
+import myapp.management.SecurityMetersService;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Limits the authentication attempts per login and per client address, over a sliding window.
+ * <p>
+ * Each key has its own counter, so that concurrent attempts for different keys do not contend. The window is
+ * approximated from the count of the current fixed window and the weighted count of the previous one, which needs two
+ * integers per key instead of one timestamp per attempt. Keys are forgotten two windows after their last attempt.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private static final String LOGIN_KEY_PREFIX = "login:";
+
+    private static final String ADDRESS_KEY_PREFIX = "address:";
+
+    private final SecurityMetersService metersService;
+
+    private final long windowNanos;
+
+    private final int maxAttemptsPerLogin;
+
+    private final int maxAttemptsPerAddress;
+
+    private final int trustedProxies;
+
+    private final Cache<String, SlidingWindowCounter> counters;
+
+    public LoginRateLimiter(SecurityMetersService metersService, ApplicationProperties applicationProperties) {
+        this.metersService = metersService;
+        ApplicationProperties.LoginRateLimit properties = applicationProperties.getLoginRateLimit();
+        Duration window = Duration.ofSeconds(properties.getWindowSeconds());
+        this.windowNanos = window.toNanos();
+        this.maxAttemptsPerLogin = properties.getMaxAttemptsPerLogin();
+        this.maxAttemptsPerAddress = properties.getMaxAttemptsPerAddress();
+        this.trustedProxies = properties.getTrustedProxies();
+        this.counters = Caffeine.newBuilder().maximumSize(properties.getMaxKeys()).expireAfterAccess(window.multipliedBy(2)).build();
+    }
+
+    /**
+     * Record an authentication attempt, unless the login or the address has exceeded its limit.
+     *
+     * @param login the login, as entered.
+     * @param remoteAddress the address of the client.
+     * @return {@code true} if the attempt is allowed.
+     */
+    public boolean tryAcquire(String login, String remoteAddress) {
+        long now = System.nanoTime();
+        if (!counter(ADDRESS_KEY_PREFIX + remoteAddress).tryIncrement(now, windowNanos, maxAttemptsPerAddress)) {
+            metersService.trackAddressRateLimited();
+            return false;
+        }
+        if (login != null && !counter(LOGIN_KEY_PREFIX + login.toLowerCase(Locale.ENGLISH)).tryIncrement(now, windowNanos, maxAttemptsPerLogin)) {
+            metersService.trackLoginRateLimited();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Resolve the address of the client, when the application is behind {@code application.login-rate-limit.trusted-proxies}
+     * reverse proxies.
+     * <p>
+     * Each proxy appends to {@code X-Forwarded-For} the address it received the request from, so the client is the entry
+     * appended by the outermost proxy. The entries before it are sent by the client, and are not trusted.
+     *
+     * @param remoteAddress the address of the peer, the closest proxy if any.
+     * @param forwardedFor the {@code X-Forwarded-For} header, if any.
+     * @return the address of the client.
+     */
+    public String resolveClientAddress(String remoteAddress, @Nullable String forwardedFor) {
+        if (trustedProxies <= 0 || !StringUtils.hasText(forwardedFor)) {
+            return remoteAddress;
+        }
+        String[] addresses = StringUtils.commaDelimitedListToStringArray(forwardedFor);
+        // Fewer entries than proxies: the request skipped the outermost ones, the leftmost entry is the best guess
+        return addresses[Math.max(addresses.length - trustedProxies, 0)].trim();
+    }
+
+    /**
+     * @return the length of the window, after which a limited client can retry.
+     */
+    public Duration getWindow() {
+        return Duration.ofNanos(windowNanos);
+    }
+
+    private SlidingWindowCounter counter(String key) {
+        return counters.get(key, k -> new SlidingWindowCounter(System.nanoTime()));
+    }
+
+    private static final class SlidingWindowCounter {
+
+        private long windowStart;
+
+        private int previousCount;
+
+        private int currentCount;
+
+        private SlidingWindowCounter(long windowStart) {
+            this.windowStart = windowStart;
+        }
+
+        synchronized boolean tryIncrement(long now, long windowNanos, int limit) {
+            long elapsed = now - windowStart;
+            if (elapsed >= 2 * windowNanos) {
+                previousCount = 0;
+                currentCount = 0;
+                windowStart = now;
+                elapsed = 0;
+            } else if (elapsed >= windowNanos) {
+                previousCount = currentCount;
+                currentCount = 0;
+                windowStart += windowNanos;
+                elapsed -= windowNanos;
+            }
+            double previousWeight = (double) (windowNanos - elapsed) / windowNanos;
+            if (previousCount * previousWeight + currentCount >= limit) {
+                return false;
+            }
+            currentCount++;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package myapp.security;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * This exception is thrown when a password cannot be hashed because the password hashing pool is saturated.
+ */
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE, reason = "Too many password verifications in progress")
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PasswordHashingRejectedException(Throwable cause) {
+        super("The password hashing pool is saturated", cause);
+    }
+}
@@ -0,0 +1,165 @@
+package myapp.service;
+
+import jakarta.persistence.EntityManager;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import myapp.aop.pool.ConnectionPool;
+import myapp.domain.Address;
+import myapp.repository.AddressRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service Implementation for managing {@link myapp.domain.Address}.
+ */
+@Service
+@Transactional
+public class AddressService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AddressService.class);
+
+    private final AddressRepository addressRepository;
+
+    private final EntityManager entityManager;
+
+    public AddressService(AddressRepository addressRepository, EntityManager entityManager) {
+        this.addressRepository = addressRepository;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Save a address.
+     *
+     * @param address the entity to save.
+     * @return the persisted entity.
+     */
+    public Address save(Address address) {
+        LOG.debug("Request to save Address : {}", address);
+        return addressRepository.save(address);
+    }
+
+    /**
+     * Update a address.
+     *
+     * @param address the entity to save.
+     * @return the persisted entity.
+     */
+    public Address update(Address address) {
+        LOG.debug("Request to update Address : {}", address);
+        return addressRepository.save(address);
+    }
+
+    /**
+     * Partially update a address.
+     *
+     * @param address the entity to update partially.
+     * @return the persisted entity.
+     */
+    public Optional<Address> partialUpdate(Address address) {
+        LOG.debug("Request to partially update Address : {}", address);
+
+        return addressRepository
+            .findById(address.getId())
+            .map(existingAddress -> {
+                if (address.getAddress1() != null) {
+                    existingAddress.setAddress1(address.getAddress1());
+                }
+                if (address.getAddress2() != null) {
+                    existingAddress.setAddress2(address.getAddress2());
+                }
+                if (address.getCity() != null) {
+                    existingAddress.setCity(address.getCity());
+                }
+                if (address.getPostcode() != null) {
+                    existingAddress.setPostcode(address.getPostcode());
+                }
+                if (address.getCountry() != null) {
+                    existingAddress.setCountry(address.getCountry());
+                }
+
+                return existingAddress;
+            })
+            .map(addressRepository::save);
+    }
+
+    /**
+     * Get all the addresses, or those of a customer.
+     *
+     * @param customerId the id of the customer, or {@code null} for all the addresses.
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<Address> findAll(@Nullable Long customerId, Pageable pageable) {
+        LOG.debug("Request to get all Addresss of Customer : {}", customerId);
+        return customerId == null ? addressRepository.findAll(pageable) : addressRepository.findAllByCustomerId(customerId, pageable);
+    }
+
+    /**
+     * Get a window of the addresses, or of those of a customer, using keyset pagination.
+     *
+     * @param customerId the id of the customer, or {@code null} for all the addresses.
+     * @param position the position to scroll from.
+     * @param sort the keyset sort.
+     * @param size the maximum number of entities.
+     * @return the window of entities.
+     */
+    @Transactional(readOnly = true)
+    public Window<Address> findAll(@Nullable Long customerId, ScrollPosition position, Sort sort, int size) {
+        LOG.debug("Request to get a window of Addresss of Customer : {}", customerId);
+        return customerId == null
+            ? addressRepository.findAllBy(position, sort, Limit.of(size))
+            : addressRepository.findAllByCustomerId(customerId, position, sort, Limit.of(size));
+    }
+
+    /**
+     * Pass all the addresses to a consumer by ascending id, reading them through a database cursor.
+     * <p>
+     * Each address is detached once consumed, so that the persistence context does not grow with the number of addresses.
+     *
+     * @param consumer the consumer of the addresses.
+     */
+    @Transactional(readOnly = true)
+    @ConnectionPool("reporting")
+    public void exportAll(Consumer<Address> consumer) {
+        LOG.debug("Request to export all Addresss");
+        try (Stream<Address> addresses = addressRepository.streamAll()) {
+            addresses.forEach(address -> {
+                consumer.accept(address);
+                entityManager.detach(address);
+            });
+        }
+    }
+
+    /**
+     * Get one address by id.
+     *
+     * @param id the id of the entity.
+     * @return the entity.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Address> findOne(Long id) {
+        LOG.debug("Request to get Address : {}", id);
+        return addressRepository.findById(id);
+    }
+
+    /**
+     * Delete the address by id.
+     *
+     * @param id the id of the entity.
+     */
+    public void delete(Long id) {
+        LOG.debug("Request to delete Address : {}", id);
+        addressRepository.deleteById(id);
+    }
+}
@@ -0,0 +1,101 @@
+package myapp.service;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import myapp.domain.Authority;
+import myapp.repository.AuthorityRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service keeping an immutable in-memory copy of the {@link Authority} table.
+ * <p>
+ * Authorities are only added or removed by administrators, so they are read once and kept until an authority write
+ * commits. The instances handed out are shared and detached: they can be added to the authorities of a {@code User},
+ * but must not be modified.
+ */
+@Service
+@Transactional(readOnly = true)
+public class AuthorityCatalog {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AuthorityCatalog.class);
+
+    private final AuthorityRepository authorityRepository;
+
+    private final AtomicLong version = new AtomicLong();
+
+    private volatile Map<String, Authority> authoritiesByName;
+
+    public AuthorityCatalog(AuthorityRepository authorityRepository) {
+        this.authorityRepository = authorityRepository;
+    }
+
+    /**
+     * Get the names of all the authorities.
+     *
+     * @return the names, sorted.
+     */
+    public List<String> getNames() {
+        return List.copyOf(authoritiesByName().keySet());
+    }
+
+    /**
+     * Get an authority by name.
+     *
+     * @param name the name of the authority.
+     * @return the authority, or empty if it does not exist.
+     */
+    public Optional<Authority> findByName(String name) {
+        return Optional.ofNullable(name).map(authoritiesByName()::get);
+    }
+
+    /**
+     * Drop the copy once the current transaction has committed, so that the next read sees the committed authorities.
+     */
+    public void refreshAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate();
+                }
+            }
+        );
+    }
+
+    private void invalidate() {
+        version.incrementAndGet();
+        authoritiesByName = null;
+    }
+
+    private Map<String, Authority> authoritiesByName() {
+        Map<String, Authority> current = authoritiesByName;
+        if (current != null) {
+            return current;
+        }
+        long expectedVersion = version.get();
+        LOG.debug("Loading the Authority catalog");
+        Map<String, Authority> loaded = new TreeMap<>();
+        for (Authority authority : authorityRepository.findAll()) {
+            loaded.put(authority.getName(), authority);
+        }
+        current = Collections.unmodifiableMap(loaded);
+        // Only keep the copy if no write committed while it was being read
+        if (version.get() == expectedVersion) {
+            authoritiesByName = current;
+        }
+        return current;
+    }
+}
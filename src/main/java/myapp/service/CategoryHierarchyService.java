@@ -0,0 +1,191 @@
+package myapp.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import myapp.config.ApplicationProperties;
+import myapp.domain.Category;
+import myapp.repository.CategoryRepository;
+import myapp.repository.CategoryRepository.CategoryLink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service keeping an in-memory index of the {@link Category} tree.
+ * <p>
+ * The whole tree is read with a single query and stored as primitive arrays holding the parent of every category, so
+ * that ancestor paths are answered without walking the {@code parent} association. The index is dropped when a
+ * category write commits, and rebuilt on the next query. Writes committed by other instances of the application are
+ * not seen: the index is also rebuilt once it is older than its time to live.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CategoryHierarchyService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CategoryHierarchyService.class);
+
+    private final CategoryRepository categoryRepository;
+
+    private final long timeToLiveNanos;
+
+    private final AtomicLong version = new AtomicLong();
+
+    private volatile Hierarchy hierarchy;
+
+    public CategoryHierarchyService(CategoryRepository categoryRepository, ApplicationProperties applicationProperties) {
+        this.categoryRepository = categoryRepository;
+        this.timeToLiveNanos = TimeUnit.SECONDS.toNanos(applicationProperties.getCategoryHierarchy().getTimeToLiveSeconds());
+    }
+
+    /**
+     * Get the ids of the ancestors of a category, from the root down to the category itself.
+     *
+     * @param id the id of the category.
+     * @return the ids, or empty if the category does not exist.
+     */
+    public Optional<List<Long>> findAncestorIds(Long id) {
+        LOG.debug("Request to get the ancestors of Category : {}", id);
+        return Optional.ofNullable(hierarchy().ancestors(id));
+    }
+
+    /**
+     * Get the ancestors of a category, from the root down to the category itself, for example to render breadcrumbs.
+     *
+     * @param id the id of the category.
+     * @return the entities, or empty if the category does not exist.
+     */
+    public Optional<List<Category>> findAncestors(Long id) {
+        return findAncestorIds(id).map(ids -> {
+            Map<Long, Category> categoriesById = categoryRepository
+                .findAllById(ids)
+                .stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+            return ids.stream().map(categoriesById::get).toList();
+        });
+    }
+
+    /**
+     * Drop the index once the current transaction has committed, so that the next query sees the committed tree.
+     */
+    public void invalidateAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate();
+                }
+            }
+        );
+    }
+
+    private void invalidate() {
+        version.incrementAndGet();
+        hierarchy = null;
+    }
+
+    private Hierarchy hierarchy() {
+        Hierarchy current = hierarchy;
+        if (current != null && System.nanoTime() - current.builtAt < timeToLiveNanos) {
+            return current;
+        }
+        long expectedVersion = version.get();
+        current = Hierarchy.build(categoryRepository.findAllLinks(), System.nanoTime());
+        // Only keep the index if no write committed while it was being read
+        if (version.get() == expectedVersion) {
+            hierarchy = current;
+        }
+        return current;
+    }
+
+    /**
+     * An immutable snapshot of the category tree. Categories are addressed by their position in {@link #ids}.
+     */
+    private static final class Hierarchy {
+
+        private static final int ROOT = -1;
+
+        private static final int REACHES_ROOT = -1;
+
+        /** {@link System#nanoTime()} when the tree was read. */
+        private final long builtAt;
+
+        /** Category ids, sorted. */
+        private final long[] ids;
+
+        /** Position of the parent of each category, or {@link #ROOT}. */
+        private final int[] parents;
+
+        private Hierarchy(long builtAt, long[] ids, int[] parents) {
+            this.builtAt = builtAt;
+            this.ids = ids;
+            this.parents = parents;
+        }
+
+        static Hierarchy build(List<CategoryLink> links, long builtAt) {
+            int size = links.size();
+            long[] ids = new long[size];
+            for (int i = 0; i < size; i++) {
+                ids[i] = links.get(i).getId();
+            }
+            Arrays.sort(ids);
+
+            int[] parents = new int[size];
+            for (CategoryLink link : links) {
+                int position = Arrays.binarySearch(ids, link.getId());
+                int parent = link.getParentId() == null ? ROOT : Arrays.binarySearch(ids, link.getParentId());
+                parents[position] = parent < 0 ? ROOT : parent;
+            }
+
+            // Walk up from each category until a root, or a category already known to reach one. Coming back to a
+            // category of the same walk means a parent cycle: cut it there, so that ancestor walks terminate.
+            int[] walks = new int[size];
+            for (int i = 0; i < size; i++) {
+                int node = i;
+                while (node != ROOT && walks[node] == 0) {
+                    walks[node] = i + 1;
+                    node = parents[node];
+                }
+                if (node != ROOT && walks[node] == i + 1) {
+                    LOG.warn("Category {} is part of a parent cycle", ids[node]);
+                    parents[node] = ROOT;
+                }
+                for (node = i; node != ROOT && walks[node] == i + 1; node = parents[node]) {
+                    walks[node] = REACHES_ROOT;
+                }
+            }
+            return new Hierarchy(builtAt, ids, parents);
+        }
+
+        List<Long> ancestors(Long id) {
+            int position = position(id);
+            if (position < 0) {
+                return null;
+            }
+            List<Long> result = new ArrayList<>();
+            for (int node = position; node != ROOT; node = parents[node]) {
+                result.add(ids[node]);
+            }
+            Collections.reverse(result);
+            return result;
+        }
+
+        private int position(Long id) {
+            return id == null ? -1 : Arrays.binarySearch(ids, id);
+        }
+    }
+}
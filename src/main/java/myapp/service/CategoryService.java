@@ -21,8 +21,11 @@ public class CategoryService {
 
     private final CategoryRepository categoryRepository;
 
-    public CategoryService(CategoryRepository categoryRepository) {
+    private final CategoryHierarchyService categoryHierarchyService;
+
+    public CategoryService(CategoryRepository categoryRepository, CategoryHierarchyService categoryHierarchyService) {
         this.categoryRepository = categoryRepository;
+        this.categoryHierarchyService = categoryHierarchyService;
     }
 
     /**
@@ -33,6 +36,7 @@ public class CategoryService {
      */
     public Category save(Category category) {
         LOG.debug("Request to save Category : {}", category);
+        categoryHierarchyService.invalidateAfterCommit();
         return categoryRepository.save(category);
     }
 
@@ -44,6 +48,7 @@ public class CategoryService {
      */
     public Category update(Category category) {
         LOG.debug("Request to update Category : {}", category);
+        categoryHierarchyService.invalidateAfterCommit();
         return categoryRepository.save(category);
     }
 
@@ -97,6 +102,7 @@ public class CategoryService {
      *
      * @return the list of entities.
      */
+    @Transactional(readOnly = true)
     public Page<Category> findAllWithEagerRelationships(Pageable pageable) {
         return categoryRepository.findAllWithEagerRelationships(pageable);
     }
@@ -120,6 +126,7 @@ public class CategoryService {
      */
     public void delete(Long id) {
         LOG.debug("Request to delete Category : {}", id);
+        categoryHierarchyService.invalidateAfterCommit();
         categoryRepository.deleteById(id);
     }
 }
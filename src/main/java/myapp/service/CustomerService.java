@@ -1,10 +1,25 @@
 package myapp.service;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import myapp.config.ApplicationProperties;
+import myapp.domain.Address;
 import myapp.domain.Customer;
+import myapp.domain.Order;
+import myapp.domain.Product;
+import myapp.domain.WishList;
+import myapp.repository.AddressRepository;
 import myapp.repository.CustomerRepository;
+import myapp.repository.OrderRepository;
+import myapp.repository.ProductRepository;
+import myapp.repository.WishListRepository;
+import myapp.service.dto.CustomerSummaryDTO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -19,10 +34,34 @@ public class CustomerService {
 
     private static final Logger LOG = LoggerFactory.getLogger(CustomerService.class);
 
+    public static final String CUSTOMER_SUMMARIES_CACHE = "customerSummaries";
+
     private final CustomerRepository customerRepository;
 
-    public CustomerService(CustomerRepository customerRepository) {
+    private final AddressRepository addressRepository;
+
+    private final WishListRepository wishListRepository;
+
+    private final OrderRepository orderRepository;
+
+    private final ProductRepository productRepository;
+
+    private final int recentOrders;
+
+    public CustomerService(
+        CustomerRepository customerRepository,
+        AddressRepository addressRepository,
+        WishListRepository wishListRepository,
+        OrderRepository orderRepository,
+        ProductRepository productRepository,
+        ApplicationProperties applicationProperties
+    ) {
         this.customerRepository = customerRepository;
+        this.addressRepository = addressRepository;
+        this.wishListRepository = wishListRepository;
+        this.orderRepository = orderRepository;
+        this.productRepository = productRepository;
+        this.recentOrders = applicationProperties.getCustomerSummary().getRecentOrders();
     }
 
     /**
@@ -101,6 +140,84 @@ public class CustomerService {
         return customerRepository.findById(id);
     }
 
+    /**
+     * Get the summary of the "id" customer, with its addresses, wish lists and most recent orders.
+     * <p>
+     * Each kind of child is read with one query, and the products of all the orders with one more, so that the number
+     * of queries does not depend on the number of children. Summaries are cached, and evicted by the
+     * {@link CustomerSummaryCacheEvictor} when the customer or one of its children changes.
+     * <p>
+     * The transaction is not read-only, so that the summary is read from the primary database: read through a replica
+     * just after an eviction, it could miss the change evicted for, and stay cached without it.
+     *
+     * @param id the id of the customer.
+     * @return the summary.
+     */
+    @Cacheable(cacheNames = CUSTOMER_SUMMARIES_CACHE, key = "#id", unless = "#result == null")
+    public Optional<CustomerSummaryDTO> findSummary(Long id) {
+        LOG.debug("Request to get the summary of Customer : {}", id);
+        return customerRepository.findById(id).map(this::toSummary);
+    }
+
+    private CustomerSummaryDTO toSummary(Customer customer) {
+        List<Order> orders = orderRepository.findAllByCustomerIdOrderByOrderDateDescIdDesc(customer.getId(), Limit.of(recentOrders));
+        Map<Long, List<CustomerSummaryDTO.OrderedProduct>> productsByOrderId = orders.isEmpty()
+            ? Map.of()
+            : productRepository
+                .findAllByOrderIdInOrderById(orders.stream().map(Order::getId).toList())
+                .stream()
+                .collect(
+                    Collectors.groupingBy(
+                        product -> product.getOrder().getId(),
+                        Collectors.mapping(CustomerService::toOrderedProduct, Collectors.toList())
+                    )
+                );
+        return new CustomerSummaryDTO(
+            customer.getId(),
+            customer.getFirstName(),
+            customer.getLastName(),
+            customer.getEmail(),
+            customer.getTelephone(),
+            addressRepository.findAllByCustomerIdOrderById(customer.getId()).stream().map(CustomerService::toAddressSummary).toList(),
+            wishListRepository.findAllByCustomerIdOrderById(customer.getId()).stream().map(CustomerService::toWishListSummary).toList(),
+            orders.stream().map(order -> toOrderSummary(order, productsByOrderId.getOrDefault(order.getId(), List.of()))).toList()
+        );
+    }
+
+    private static CustomerSummaryDTO.AddressSummary toAddressSummary(Address address) {
+        return new CustomerSummaryDTO.AddressSummary(
+            address.getId(),
+            address.getAddress1(),
+            address.getAddress2(),
+            address.getCity(),
+            address.getPostcode(),
+            address.getCountry()
+        );
+    }
+
+    private static CustomerSummaryDTO.WishListSummary toWishListSummary(WishList wishList) {
+        return new CustomerSummaryDTO.WishListSummary(wishList.getId(), wishList.getTitle(), wishList.getRestricted());
+    }
+
+    private static CustomerSummaryDTO.OrderSummary toOrderSummary(Order order, List<CustomerSummaryDTO.OrderedProduct> products) {
+        return new CustomerSummaryDTO.OrderSummary(
+            order.getId(),
+            order.getOrderDate(),
+            order.getShippedDate(),
+            order.getStatus(),
+            order.getTotalAmount(),
+            order.getShippingCost(),
+            order.getTrackingNumber(),
+            // The id of an uninitialized proxy is read without loading the address
+            order.getShippingAddress() == null ? null : order.getShippingAddress().getId(),
+            List.copyOf(products)
+        );
+    }
+
+    private static CustomerSummaryDTO.OrderedProduct toOrderedProduct(Product product) {
+        return new CustomerSummaryDTO.OrderedProduct(product.getId(), product.getTitle(), product.getPrice());
+    }
+
     /**
      * Delete the customer by id.
      *
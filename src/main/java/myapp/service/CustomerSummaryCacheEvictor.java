@@ -0,0 +1,117 @@
+package myapp.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import myapp.domain.Address;
+import myapp.domain.Customer;
+import myapp.domain.Order;
+import myapp.domain.WishList;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts the cached summary of a customer once a transaction changing the customer, or one of its addresses, wish lists
+ * or orders, has committed. When a child moves to another customer, both summaries are evicted.
+ * <p>
+ * Products are not tracked: a summary shows the title and price of the ordered products for at most the time to live of
+ * the {@link CustomerService#CUSTOMER_SUMMARIES_CACHE} cache after they changed. Bulk JPQL and JDBC updates are not
+ * tracked either.
+ */
+@Component
+public class CustomerSummaryCacheEvictor
+    implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private static final String CUSTOMER_PROPERTY = "customer";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final Cache cache;
+
+    public CustomerSummaryCacheEvictor(EntityManagerFactory entityManagerFactory, CacheManager cacheManager) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.cache = cacheManager.getCache(CustomerService.CUSTOMER_SUMMARIES_CACHE);
+    }
+
+    @PostConstruct
+    public void registerListeners() {
+        EventListenerRegistry registry = entityManagerFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        Class<?> entityClass = persister.getMappedClass();
+        return (
+            entityClass == Customer.class || entityClass == Address.class || entityClass == WishList.class || entityClass == Order.class
+        );
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        evict(customerOf(event.getEntity()));
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        evict(customerOf(event.getEntity()));
+        if (event.getOldState() != null) {
+            int index = Arrays.asList(event.getPersister().getPropertyNames()).indexOf(CUSTOMER_PROPERTY);
+            if (index >= 0 && event.getOldState()[index] instanceof Customer customer) {
+                evict(customer);
+            }
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        evict(customerOf(event.getEntity()));
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Nothing was cached from the rolled back transaction
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {}
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {}
+
+    private static Customer customerOf(Object entity) {
+        if (entity instanceof Customer customer) {
+            return customer;
+        } else if (entity instanceof Address address) {
+            return address.getCustomer();
+        } else if (entity instanceof WishList wishList) {
+            return wishList.getCustomer();
+        } else if (entity instanceof Order order) {
+            return order.getCustomer();
+        }
+        return null;
+    }
+
+    private void evict(Customer customer) {
+        // The id of an uninitialized proxy is read without loading the customer
+        if (customer != null && customer.getId() != null) {
+            cache.evict(customer.getId());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package myapp.service;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import myapp.aop.pool.ConnectionPool;
+import myapp.config.ApplicationProperties;
+import myapp.config.AsyncConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends the mails of the outbox, batch after batch, each batch in its own transaction.
+ * <p>
+ * The outbox is drained when a mail has been written, and polled every
+ * {@code application.mail-outbox.poll-interval-millis} for the mails to retry. Only one drain runs at a time; a drain
+ * requested meanwhile makes the running one go on once it is done.
+ */
+@Component
+@ConnectionPool("batch")
+public class MailOutboxDrainer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MailOutboxDrainer.class);
+
+    private final MailOutboxService mailOutboxService;
+
+    private final int batchSize;
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    private final AtomicBoolean requested = new AtomicBoolean();
+
+    public MailOutboxDrainer(MailOutboxService mailOutboxService, ApplicationProperties applicationProperties) {
+        this.mailOutboxService = mailOutboxService;
+        this.batchSize = applicationProperties.getMailOutbox().getBatchSize();
+    }
+
+    /**
+     * Drain the outbox on the mail executor.
+     */
+    @Async(AsyncConfiguration.MAIL_EXECUTOR)
+    public void drainAsync() {
+        drain();
+    }
+
+    @Scheduled(
+        initialDelayString = "${application.mail-outbox.poll-interval-millis:5000}",
+        fixedDelayString = "${application.mail-outbox.poll-interval-millis:5000}"
+    )
+    public void drain() {
+        requested.set(true);
+        while (requested.get() && draining.compareAndSet(false, true)) {
+            try {
+                requested.set(false);
+                while (mailOutboxService.sendDueBatch() == batchSize) {
+                    LOG.debug("Sent a full batch from the mail outbox, sending the next one");
+                }
+            } catch (RuntimeException e) {
+                LOG.error("Could not drain the mail outbox", e);
+            } finally {
+                draining.set(false);
+            }
+        }
+    }
+
+    /**
+     * Delete the old sent mails.
+     * <p>
+     * This is scheduled to get fired everyday, at 02:00 (am).
+     */
+    @Scheduled(cron = "0 0 2 * * ?")
+    public void purgeSent() {
+        int purged = mailOutboxService.purgeSent();
+        LOG.debug("Purged {} sent emails from the outbox", purged);
+    }
+}
@@ -0,0 +1,206 @@
+package myapp.service;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import myapp.config.ApplicationProperties;
+import myapp.domain.MailOutboxMessage;
+import myapp.domain.enumeration.MailOutboxStatus;
+import myapp.management.MailMetersService;
+import myapp.repository.MailOutboxMessageRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Service for the mail outbox: mails are written to the database in the transaction of the caller, and sent later in
+ * batches, each over a single SMTP connection.
+ * <p>
+ * A mail which could not be sent is retried with an exponential backoff, and given up after
+ * {@code application.mail-outbox.max-attempts}.
+ */
+@Service
+@Transactional
+public class MailOutboxService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MailOutboxService.class);
+
+    private static final int LAST_ERROR_MAX_LENGTH = 1000;
+
+    private final MailOutboxMessageRepository mailOutboxMessageRepository;
+
+    private final JavaMailSender javaMailSender;
+
+    private final JHipsterProperties jHipsterProperties;
+
+    private final MailMetersService mailMetersService;
+
+    private final ApplicationProperties.MailOutbox properties;
+
+    public MailOutboxService(
+        MailOutboxMessageRepository mailOutboxMessageRepository,
+        JavaMailSender javaMailSender,
+        JHipsterProperties jHipsterProperties,
+        MailMetersService mailMetersService,
+        ApplicationProperties applicationProperties
+    ) {
+        this.mailOutboxMessageRepository = mailOutboxMessageRepository;
+        this.javaMailSender = javaMailSender;
+        this.jHipsterProperties = jHipsterProperties;
+        this.mailMetersService = mailMetersService;
+        this.properties = applicationProperties.getMailOutbox();
+    }
+
+    /**
+     * Write a mail to the outbox.
+     *
+     * @param to the recipient.
+     * @param subject the subject.
+     * @param content the content.
+     * @param isMultipart whether the mail is multipart.
+     * @param isHtml whether the content is HTML.
+     * @return the persisted message.
+     */
+    public MailOutboxMessage enqueue(String to, String subject, String content, boolean isMultipart, boolean isHtml) {
+        LOG.debug("Request to add an email to '{}' with subject '{}' to the outbox", to, subject);
+        Instant now = Instant.now();
+        MailOutboxMessage message = new MailOutboxMessage();
+        message.setRecipient(to);
+        message.setSubject(subject);
+        message.setContent(content);
+        message.setMultipart(isMultipart);
+        message.setHtml(isHtml);
+        message.setStatus(MailOutboxStatus.PENDING);
+        message.setCreatedDate(now);
+        message.setNextAttemptAt(now);
+        return mailOutboxMessageRepository.save(message);
+    }
+
+    /**
+     * Send the next batch of due mails, over a single SMTP connection.
+     * <p>
+     * The messages of the batch stay locked until the transaction ends, so that other instances skip them.
+     *
+     * @return the number of mails in the batch, sent or not.
+     */
+    public int sendDueBatch() {
+        List<MailOutboxMessage> batch = mailOutboxMessageRepository.findDueForUpdate(
+            MailOutboxStatus.PENDING,
+            Instant.now(),
+            PageRequest.of(0, properties.getBatchSize())
+        );
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        // In the order of the outbox; MimeMessage does not override equals, so the keys are compared by identity
+        Map<MimeMessage, MailOutboxMessage> messages = new LinkedHashMap<>();
+        for (MailOutboxMessage message : batch) {
+            try {
+                messages.put(toMimeMessage(message), message);
+            } catch (MessagingException e) {
+                retryLater(message, e);
+            }
+        }
+        Map<Object, Exception> failedMessages = send(new ArrayList<>(messages.keySet()));
+        Instant sentDate = Instant.now();
+        int sent = 0;
+        for (Map.Entry<MimeMessage, MailOutboxMessage> entry : messages.entrySet()) {
+            Exception failure = failedMessages.get(entry.getKey());
+            if (failure != null) {
+                retryLater(entry.getValue(), failure);
+            } else {
+                entry.getValue().setStatus(MailOutboxStatus.SENT);
+                entry.getValue().setSentDate(sentDate);
+                sent++;
+            }
+        }
+        mailMetersService.trackSent(sent);
+        LOG.debug("Sent {} of {} emails from the outbox", sent, batch.size());
+        return batch.size();
+    }
+
+    /**
+     * Delete the mails sent more than {@code application.mail-outbox.retention-days} ago.
+     *
+     * @return the number of deleted mails.
+     */
+    public int purgeSent() {
+        Instant before = Instant.now().minus(properties.getRetentionDays(), ChronoUnit.DAYS);
+        return mailOutboxMessageRepository.deleteByStatusAndSentDateBefore(MailOutboxStatus.SENT, before);
+    }
+
+    private MimeMessage toMimeMessage(MailOutboxMessage message) throws MessagingException {
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, message.isMultipart(), StandardCharsets.UTF_8.name());
+        helper.setTo(message.getRecipient());
+        helper.setFrom(jHipsterProperties.getMail().getFrom());
+        helper.setSubject(message.getSubject());
+        helper.setText(message.getContent(), message.isHtml());
+        return mimeMessage;
+    }
+
+    /**
+     * Send the messages, and return those which failed with their exception.
+     */
+    private Map<Object, Exception> send(List<MimeMessage> mimeMessages) {
+        if (mimeMessages.isEmpty()) {
+            return Map.of();
+        }
+        long start = System.nanoTime();
+        try {
+            javaMailSender.send(mimeMessages.toArray(MimeMessage[]::new));
+            return Map.of();
+        } catch (MailSendException e) {
+            if (!e.getFailedMessages().isEmpty()) {
+                return e.getFailedMessages();
+            }
+            return failAll(mimeMessages, e);
+        } catch (MailException e) {
+            return failAll(mimeMessages, e);
+        } finally {
+            mailMetersService.recordBatchTime(System.nanoTime() - start);
+        }
+    }
+
+    private static Map<Object, Exception> failAll(List<MimeMessage> mimeMessages, Exception e) {
+        Map<Object, Exception> failedMessages = new IdentityHashMap<>();
+        mimeMessages.forEach(mimeMessage -> failedMessages.put(mimeMessage, e));
+        return failedMessages;
+    }
+
+    private void retryLater(MailOutboxMessage message, Exception e) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        message.setLastError(abbreviate(String.valueOf(e.getMessage())));
+        if (attempts >= properties.getMaxAttempts()) {
+            LOG.warn("Email {} to '{}' could not be sent after {} attempts, giving up", message.getId(), message.getRecipient(), attempts, e);
+            message.setStatus(MailOutboxStatus.FAILED);
+            mailMetersService.trackFailed();
+            return;
+        }
+        Duration backoff = Duration.ofSeconds(properties.getInitialBackoffSeconds()).multipliedBy(1L << Math.min(attempts - 1, 20));
+        Duration maxBackoff = Duration.ofSeconds(properties.getMaxBackoffSeconds());
+        message.setNextAttemptAt(Instant.now().plus(backoff.compareTo(maxBackoff) < 0 ? backoff : maxBackoff));
+        LOG.debug("Email {} to '{}' could not be sent, retrying at {}", message.getId(), message.getRecipient(), message.getNextAttemptAt());
+        mailMetersService.trackRetried();
+    }
+
+    private static String abbreviate(String error) {
+        return error.length() <= LAST_ERROR_MAX_LENGTH ? error : error.substring(0, LAST_ERROR_MAX_LENGTH);
+    }
+}
@@ -1,28 +1,27 @@
 package myapp.service;
 
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
-import java.nio.charset.StandardCharsets;
 import java.util.Locale;
 import myapp.domain.User;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.MessageSource;
-import org.springframework.mail.MailException;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.thymeleaf.context.Context;
 import org.thymeleaf.spring6.SpringTemplateEngine;
 import tech.jhipster.config.JHipsterProperties;
 
 /**
- * Service for sending emails asynchronously.
+ * Service for sending emails through the mail outbox.
  * <p>
- * We use the {@link Async} annotation to send emails asynchronously.
+ * Emails are rendered and written to the outbox in the transaction of the caller, so that they are only sent if it
+ * commits, and are not lost if the mail server is down. {@link MailOutboxDrainer} sends them once the transaction has
+ * committed.
  */
 @Service
+@Transactional
 public class MailService {
 
     private static final Logger LOG = LoggerFactory.getLogger(MailService.class);
@@ -33,30 +32,29 @@ public class MailService {
 
     private final JHipsterProperties jHipsterProperties;
 
-    private final JavaMailSender javaMailSender;
-
     private final MessageSource messageSource;
 
     private final SpringTemplateEngine templateEngine;
 
+    private final MailOutboxService mailOutboxService;
+
+    private final MailOutboxDrainer mailOutboxDrainer;
+
     public MailService(
         JHipsterProperties jHipsterProperties,
-        JavaMailSender javaMailSender,
         MessageSource messageSource,
-        SpringTemplateEngine templateEngine
+        SpringTemplateEngine templateEngine,
+        MailOutboxService mailOutboxService,
+        MailOutboxDrainer mailOutboxDrainer
     ) {
         this.jHipsterProperties = jHipsterProperties;
-        this.javaMailSender = javaMailSender;
         this.messageSource = messageSource;
         this.templateEngine = templateEngine;
+        this.mailOutboxService = mailOutboxService;
+        this.mailOutboxDrainer = mailOutboxDrainer;
     }
 
-    @Async
     public void sendEmail(String to, String subject, String content, boolean isMultipart, boolean isHtml) {
-        this.sendEmailSync(to, subject, content, isMultipart, isHtml);
-    }
-
-    private void sendEmailSync(String to, String subject, String content, boolean isMultipart, boolean isHtml) {
         LOG.debug(
             "Send email[multipart '{}' and html '{}'] to '{}' with subject '{}' and content={}",
             isMultipart,
@@ -65,28 +63,11 @@ public class MailService {
             subject,
             content
         );
-
-        // Prepare message using a Spring helper
-        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
-        try {
-            MimeMessageHelper message = new MimeMessageHelper(mimeMessage, isMultipart, StandardCharsets.UTF_8.name());
-            message.setTo(to);
-            message.setFrom(jHipsterProperties.getMail().getFrom());
-            message.setSubject(subject);
-            message.setText(content, isHtml);
-            javaMailSender.send(mimeMessage);
-            LOG.debug("Sent email to User '{}'", to);
-        } catch (MailException | MessagingException e) {
-            LOG.warn("Email could not be sent to user '{}'", to, e);
-        }
+        mailOutboxService.enqueue(to, subject, content, isMultipart, isHtml);
+        drainAfterCommit();
     }
 
-    @Async
     public void sendEmailFromTemplate(User user, String templateName, String titleKey) {
-        this.sendEmailFromTemplateSync(user, templateName, titleKey);
-    }
-
-    private void sendEmailFromTemplateSync(User user, String templateName, String titleKey) {
         if (user.getEmail() == null) {
             LOG.debug("Email doesn't exist for user '{}'", user.getLogin());
             return;
@@ -97,24 +78,36 @@ public class MailService {
         context.setVariable(BASE_URL, jHipsterProperties.getMail().getBaseUrl());
         String content = templateEngine.process(templateName, context);
         String subject = messageSource.getMessage(titleKey, null, locale);
-        this.sendEmailSync(user.getEmail(), subject, content, false, true);
+        this.sendEmail(user.getEmail(), subject, content, false, true);
     }
 
-    @Async
     public void sendActivationEmail(User user) {
         LOG.debug("Sending activation email to '{}'", user.getEmail());
-        this.sendEmailFromTemplateSync(user, "mail/activationEmail", "email.activation.title");
+        this.sendEmailFromTemplate(user, "mail/activationEmail", "email.activation.title");
     }
 
-    @Async
     public void sendCreationEmail(User user) {
         LOG.debug("Sending creation email to '{}'", user.getEmail());
-        this.sendEmailFromTemplateSync(user, "mail/creationEmail", "email.activation.title");
+        this.sendEmailFromTemplate(user, "mail/creationEmail", "email.activation.title");
     }
 
-    @Async
     public void sendPasswordResetMail(User user) {
         LOG.debug("Sending password reset email to '{}'", user.getEmail());
-        this.sendEmailFromTemplateSync(user, "mail/passwordResetEmail", "email.reset.title");
+        this.sendEmailFromTemplate(user, "mail/passwordResetEmail", "email.reset.title");
+    }
+
+    private void drainAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            mailOutboxDrainer.drainAsync();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    mailOutboxDrainer.drainAsync();
+                }
+            }
+        );
     }
 }
@@ -0,0 +1,69 @@
+package myapp.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+import myapp.aop.pool.ConnectionPool;
+import myapp.config.ApplicationProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Deletes the users who did not activate their account within {@code application.user-cleanup.not-activated-days}.
+ * <p>
+ * Users are deleted in chunks of {@code application.user-cleanup.chunk-size}, each in its own transaction, so that a
+ * large backlog does not hold one long transaction.
+ */
+@Component
+@ConnectionPool("batch")
+public class NotActivatedUsersCleanup {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NotActivatedUsersCleanup.class);
+
+    private final UserService userService;
+
+    private final ApplicationProperties.UserCleanup properties;
+
+    private final Counter deletedCounter;
+
+    private final Timer chunkTimer;
+
+    public NotActivatedUsersCleanup(UserService userService, ApplicationProperties applicationProperties, MeterRegistry registry) {
+        this.userService = userService;
+        this.properties = applicationProperties.getUserCleanup();
+        this.deletedCounter = Counter.builder("users.not-activated.deleted")
+            .description("Indicates count of the not activated users deleted by the cleanup.")
+            .baseUnit("users")
+            .register(registry);
+        this.chunkTimer = Timer.builder("users.not-activated.cleanup")
+            .description("Indicates deletion time of a chunk of not activated users.")
+            .register(registry);
+    }
+
+    /**
+     * Not activated users should be automatically deleted after 3 days by default.
+     * <p>
+     * This is scheduled to get fired everyday, at 01:00 (am).
+     */
+    @Scheduled(cron = "0 0 1 * * ?")
+    public void removeNotActivatedUsers() {
+        Instant before = Instant.now().minus(properties.getNotActivatedDays(), ChronoUnit.DAYS);
+        long start = System.nanoTime();
+        long total = 0;
+        int deleted;
+        do {
+            long chunkStart = System.nanoTime();
+            deleted = userService.removeNotActivatedUsers(before, properties.getChunkSize());
+            chunkTimer.record(System.nanoTime() - chunkStart, TimeUnit.NANOSECONDS);
+            deletedCounter.increment(deleted);
+            total += deleted;
+            LOG.debug("Deleted {} not activated users so far", total);
+        } while (deleted > 0);
+        LOG.info("Deleted {} not activated users in {} ms", total, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+}
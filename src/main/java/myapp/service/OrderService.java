@@ -1,12 +1,27 @@
 package myapp.service;
 
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import myapp.aop.pool.ConnectionPool;
 import myapp.domain.Order;
+import myapp.domain.OrderLine;
+import myapp.domain.Product;
+import myapp.repository.OrderLineRepository;
 import myapp.repository.OrderRepository;
+import myapp.service.dto.OrderLineDTO;
+import myapp.service.dto.OrderPlacementDTO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,8 +36,22 @@ public class OrderService {
 
     private final OrderRepository orderRepository;
 
-    public OrderService(OrderRepository orderRepository) {
+    private final OrderLineRepository orderLineRepository;
+
+    private final EntityManager entityManager;
+
+    private final ProductService productService;
+
+    public OrderService(
+        OrderRepository orderRepository,
+        OrderLineRepository orderLineRepository,
+        EntityManager entityManager,
+        ProductService productService
+    ) {
         this.orderRepository = orderRepository;
+        this.orderLineRepository = orderLineRepository;
+        this.entityManager = entityManager;
+        this.productService = productService;
     }
 
     /**
@@ -36,6 +65,53 @@ public class OrderService {
         return orderRepository.save(order);
     }
 
+    /**
+     * Place a new order, reserving the stock of its lines.
+     * <p>
+     * The lines are saved with the order, in the transaction of the reservation, so that every quantity taken from the
+     * stock is recorded against its order.
+     *
+     * @param placement the order to save, and its lines.
+     * @return the placement, with the persisted order and the lines reserved.
+     * @throws OutOfStockException if a line is out of stock, with the status of every line. Nothing is reserved.
+     */
+    public OrderPlacementDTO place(OrderPlacementDTO placement) {
+        LOG.debug("Request to place Order : {}", placement);
+        if (!productService.reserveStock(placement.getLines())) {
+            throw new OutOfStockException(placement.getLines());
+        }
+        Order order = orderRepository.save(placement.getOrder());
+        List<OrderLine> lines = new ArrayList<>(placement.getLines().size());
+        for (OrderLineDTO line : placement.getLines()) {
+            lines.add(
+                new OrderLine()
+                    .order(order)
+                    .product(entityManager.getReference(Product.class, line.getProductId()))
+                    .quantity(line.getQuantity())
+            );
+        }
+        orderLineRepository.saveAll(lines);
+        placement.setOrder(order);
+        return placement;
+    }
+
+    /**
+     * Save a chunk of new orders in a single transaction.
+     * <p>
+     * The inserts are sent in JDBC batches at flush, and the persistence context is cleared afterwards
+     * so that it does not grow across chunks.
+     *
+     * @param orders the entities to save.
+     * @return the persisted entities, in the same order.
+     */
+    public List<Order> saveAll(List<Order> orders) {
+        LOG.debug("Request to save {} Orders", orders.size());
+        List<Order> result = orderRepository.saveAll(orders);
+        entityManager.flush();
+        entityManager.clear();
+        return result;
+    }
+
     /**
      * Update a order.
      *
@@ -90,11 +166,45 @@ public class OrderService {
      * @return the list of entities.
      */
     @Transactional(readOnly = true)
+    @ConnectionPool("reporting")
     public Page<Order> findAll(Pageable pageable) {
         LOG.debug("Request to get all Orders");
         return orderRepository.findAll(pageable);
     }
 
+    /**
+     * Get a window of the orders, using keyset pagination.
+     *
+     * @param position the position to scroll from.
+     * @param sort the keyset sort.
+     * @param size the maximum number of entities.
+     * @return the window of entities.
+     */
+    @Transactional(readOnly = true)
+    public Window<Order> findAll(ScrollPosition position, Sort sort, int size) {
+        LOG.debug("Request to get a window of Orders");
+        return orderRepository.findAllBy(position, sort, Limit.of(size));
+    }
+
+    /**
+     * Pass all the orders to a consumer by ascending id, reading them through a database cursor.
+     * <p>
+     * Each order is detached once consumed, so that the persistence context does not grow with the number of orders.
+     *
+     * @param consumer the consumer of the orders.
+     */
+    @Transactional(readOnly = true)
+    @ConnectionPool("reporting")
+    public void exportAll(Consumer<Order> consumer) {
+        LOG.debug("Request to export all Orders");
+        try (Stream<Order> orders = orderRepository.streamAll()) {
+            orders.forEach(order -> {
+                consumer.accept(order);
+                entityManager.detach(order);
+            });
+        }
+    }
+
     /**
      * Get one order by id.
      *
@@ -114,6 +224,7 @@ public class OrderService {
      */
     public void delete(Long id) {
         LOG.debug("Request to delete Order : {}", id);
+        orderLineRepository.deleteByOrderId(id);
         orderRepository.deleteById(id);
     }
 }
@@ -0,0 +1,20 @@
+package myapp.service;
+
+import java.util.List;
+import myapp.service.dto.OrderLineDTO;
+
+public class OutOfStockException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<OrderLineDTO> lines;
+
+    public OutOfStockException(List<OrderLineDTO> lines) {
+        super("Not enough products in stock!");
+        this.lines = List.copyOf(lines);
+    }
+
+    public List<OrderLineDTO> getLines() {
+        return lines;
+    }
+}
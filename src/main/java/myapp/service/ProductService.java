@@ -1,14 +1,49 @@
 package myapp.service;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Tuple;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import myapp.aop.pool.ConnectionPool;
+import myapp.config.ApplicationProperties;
+import myapp.domain.Category;
 import myapp.domain.Product;
+import myapp.domain.enumeration.ProductStatus;
 import myapp.repository.ProductRepository;
+import myapp.repository.search.ProductSearchRepository;
+import myapp.service.dto.OrderLineDTO;
+import myapp.service.dto.ProductSummaryDTO;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * Service Implementation for managing {@link myapp.domain.Product}.
@@ -19,10 +54,32 @@ public class ProductService {
 
     private static final Logger LOG = LoggerFactory.getLogger(ProductService.class);
 
+    private static final String CATEGORY_PRODUCTS_REGION = Category.class.getName() + ".products";
+
+    private static final int REINDEX_BATCH_SIZE = 1000;
+
     private final ProductRepository productRepository;
 
-    public ProductService(ProductRepository productRepository) {
+    private final ProductSearchRepository productSearchRepository;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final EntityManager entityManager;
+
+    private final ApplicationProperties applicationProperties;
+
+    public ProductService(
+        ProductRepository productRepository,
+        ProductSearchRepository productSearchRepository,
+        EntityManagerFactory entityManagerFactory,
+        EntityManager entityManager,
+        ApplicationProperties applicationProperties
+    ) {
         this.productRepository = productRepository;
+        this.productSearchRepository = productSearchRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.entityManager = entityManager;
+        this.applicationProperties = applicationProperties;
     }
 
     /**
@@ -33,7 +90,12 @@ public class ProductService {
      */
     public Product save(Product product) {
         LOG.debug("Request to save Product : {}", product);
-        return productRepository.save(product);
+        Product result = productRepository.save(product);
+        afterCommit(() -> {
+            evictFromCache(result.getId());
+            productSearchRepository.index(result);
+        });
+        return result;
     }
 
     /**
@@ -44,7 +106,12 @@ public class ProductService {
      */
     public Product update(Product product) {
         LOG.debug("Request to update Product : {}", product);
-        return productRepository.save(product);
+        Product result = productRepository.save(product);
+        afterCommit(() -> {
+            evictFromCache(result.getId());
+            productSearchRepository.index(result);
+        });
+        return result;
     }
 
     /**
@@ -95,7 +162,14 @@ public class ProductService {
 
                 return existingProduct;
             })
-            .map(productRepository::save);
+            .map(productRepository::save)
+            .map(savedProduct -> {
+                afterCommit(() -> {
+                    evictFromCache(savedProduct.getId());
+                    productSearchRepository.index(savedProduct);
+                });
+                return savedProduct;
+            });
     }
 
     /**
@@ -110,6 +184,109 @@ public class ProductService {
         return productRepository.findAll(pageable);
     }
 
+    /**
+     * Get all the products as summaries, reading only the requested columns instead of loading the entities.
+     *
+     * @param fields the summary fields to fill, among {@link ProductSummaryDTO#FIELDS}; the id is always filled.
+     * @param pageable the pagination information.
+     * @return the list of summaries.
+     */
+    @Transactional(readOnly = true)
+    public Page<ProductSummaryDTO> findAllSummaries(Collection<String> fields, Pageable pageable) {
+        LOG.debug("Request to get all Product summaries with fields : {}", fields);
+        List<String> attributes = ProductSummaryDTO.FIELDS.stream()
+            .filter(field -> ProductSummaryDTO.ID.equals(field) || fields.contains(field))
+            .toList();
+        return productRepository.findAllAttributes(attributes, pageable).map(tuple -> toSummary(tuple, attributes));
+    }
+
+    /**
+     * Get all the products linked to a category or to one of its descendants.
+     *
+     * @param categoryId the id of the category.
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<Product> findAllByCategorySubtree(Long categoryId, Pageable pageable) {
+        LOG.debug("Request to get all Products of Category and descendants : {}", categoryId);
+        return productRepository.findAllByCategorySubtree(categoryId, pageable);
+    }
+
+    /**
+     * Get a window of the products, using keyset pagination.
+     *
+     * @param position the position to scroll from.
+     * @param sort the keyset sort.
+     * @param size the maximum number of entities.
+     * @return the window of entities.
+     */
+    @Transactional(readOnly = true)
+    public Window<Product> findAll(ScrollPosition position, Sort sort, int size) {
+        LOG.debug("Request to get a window of Products");
+        return productRepository.findAllBy(position, sort, Limit.of(size));
+    }
+
+    /**
+     * Search for the products matching a full-text query over title, keywords and description.
+     *
+     * @param query the query of the search.
+     * @param pageable the pagination information, its sort is ignored as results are ordered by relevance.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<Product> search(String query, Pageable pageable) {
+        LOG.debug("Request to search for a page of Products for query {}", query);
+        Page<Long> ids = productSearchRepository.search(query, pageable);
+        Map<Long, Product> productsById = productRepository
+            .findAllById(ids.getContent())
+            .stream()
+            .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<Product> products = ids.getContent().stream().map(productsById::get).filter(Objects::nonNull).toList();
+        return new PageImpl<>(products, pageable, ids.getTotalElements());
+    }
+
+    /**
+     * Rebuild the search index from the database once the application has started.
+     * <p>
+     * Products are read in keyset batches, each in its own short read transaction.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @ConnectionPool("batch")
+    public void reindexAll() {
+        if (!applicationProperties.getSearch().isReindexOnStartup()) {
+            return;
+        }
+        LOG.debug("Request to rebuild the Product search index");
+        try {
+            long count = productSearchRepository.reindexAll(() -> new ProductBatchIterator());
+            LOG.info("Product search index rebuilt with {} products", count);
+        } catch (RuntimeException e) {
+            LOG.error("Could not rebuild the Product search index", e);
+        }
+    }
+
+    /**
+     * Pass all the products to a consumer by ascending id, reading them through a database cursor.
+     * <p>
+     * Each product is detached once consumed, so that the persistence context does not grow with the number of products.
+     *
+     * @param consumer the consumer of the products.
+     */
+    @Transactional(readOnly = true)
+    @ConnectionPool("reporting")
+    public void exportAll(Consumer<Product> consumer) {
+        LOG.debug("Request to export all Products");
+        try (Stream<Product> products = productRepository.streamAll()) {
+            products.forEach(product -> {
+                consumer.accept(product);
+                entityManager.detach(product);
+            });
+        }
+    }
+
     /**
      * Get one product by id.
      *
@@ -122,6 +299,45 @@ public class ProductService {
         return productRepository.findById(id);
     }
 
+    /**
+     * Reserve the quantity of each line in the stock of its product, and set the status of the line.
+     * <p>
+     * All the lines are reserved with conditional updates, in one batch and by ascending product id, so that
+     * concurrent reservations lock the products in the same order. The caller must roll back the transaction when a
+     * line is out of stock, to release the other lines: those are then {@link OrderLineDTO.Status#AVAILABLE} rather
+     * than reserved.
+     *
+     * @param lines the lines to reserve.
+     * @return whether all the lines were reserved.
+     */
+    public boolean reserveStock(List<OrderLineDTO> lines) {
+        LOG.debug("Request to reserve stock for {} order lines", lines.size());
+        List<OrderLineDTO> sortedLines = lines.stream().sorted(Comparator.comparing(OrderLineDTO::getProductId)).toList();
+        long[] productIds = sortedLines.stream().mapToLong(OrderLineDTO::getProductId).toArray();
+        int[] quantities = sortedLines.stream().mapToInt(OrderLineDTO::getQuantity).toArray();
+        boolean[] reserved = productRepository.reserveStock(productIds, quantities);
+        boolean allReserved = true;
+        for (int i = 0; i < reserved.length; i++) {
+            sortedLines.get(i).setStatus(reserved[i] ? OrderLineDTO.Status.RESERVED : OrderLineDTO.Status.OUT_OF_STOCK);
+            allReserved &= reserved[i];
+        }
+        if (allReserved) {
+            afterCommit(() -> {
+                Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+                for (long productId : productIds) {
+                    cache.evictEntityData(Product.class, productId);
+                }
+            });
+        } else {
+            for (OrderLineDTO line : sortedLines) {
+                if (line.getStatus() == OrderLineDTO.Status.RESERVED) {
+                    line.setStatus(OrderLineDTO.Status.AVAILABLE);
+                }
+            }
+        }
+        return allReserved;
+    }
+
     /**
      * Delete the product by id.
      *
@@ -130,5 +346,81 @@ public class ProductService {
     public void delete(Long id) {
         LOG.debug("Request to delete Product : {}", id);
         productRepository.deleteById(id);
+        afterCommit(() -> {
+            evictFromCache(id);
+            productSearchRepository.deleteFromIndexById(id);
+        });
+    }
+
+    private static ProductSummaryDTO toSummary(Tuple tuple, List<String> attributes) {
+        ProductSummaryDTO summary = new ProductSummaryDTO();
+        for (String attribute : attributes) {
+            switch (attribute) {
+                case ProductSummaryDTO.ID -> summary.setId(tuple.get(attribute, Long.class));
+                case ProductSummaryDTO.TITLE -> summary.setTitle(tuple.get(attribute, String.class));
+                case ProductSummaryDTO.PRICE -> summary.setPrice(tuple.get(attribute, BigDecimal.class));
+                case ProductSummaryDTO.STATUS -> summary.setStatus(tuple.get(attribute, ProductStatus.class));
+                case ProductSummaryDTO.RATING -> summary.setRating(tuple.get(attribute, Integer.class));
+                case ProductSummaryDTO.QUANTITY_IN_STOCK -> summary.setQuantityInStock(tuple.get(attribute, Integer.class));
+                default -> throw new IllegalArgumentException("Unknown product summary field: " + attribute);
+            }
+        }
+        return summary;
+    }
+
+    /**
+     * Run an action once the current transaction has committed, so that concurrent readers cannot put the previous state
+     * back in the second-level cache, and the search index never holds uncommitted changes.
+     *
+     * @param action the action to run.
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            }
+        );
+    }
+
+    private void evictFromCache(Long id) {
+        LOG.debug("Evicting Product : {} from the second-level cache", id);
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(Product.class, id);
+        cache.evictCollectionData(CATEGORY_PRODUCTS_REGION);
+    }
+
+    /**
+     * Reads all the products by ascending id, one keyset window at a time.
+     */
+    private final class ProductBatchIterator implements Iterator<List<Product>> {
+
+        private ScrollPosition position = ScrollPosition.keyset();
+
+        private boolean hasNext = true;
+
+        @Override
+        public boolean hasNext() {
+            return hasNext;
+        }
+
+        @Override
+        public List<Product> next() {
+            if (!hasNext) {
+                throw new NoSuchElementException();
+            }
+            Window<Product> window = productRepository.findAllBy(position, Sort.by("id"), Limit.of(REINDEX_BATCH_SIZE));
+            hasNext = window.hasNext() && !window.isEmpty();
+            if (hasNext) {
+                position = window.positionAt(window.size() - 1);
+            }
+            return window.getContent();
+        }
     }
 }
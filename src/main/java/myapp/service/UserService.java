@@ -7,9 +7,9 @@ import java.util.stream.Collectors;
 import myapp.config.Constants;
 import myapp.domain.Authority;
 import myapp.domain.User;
-import myapp.repository.AuthorityRepository;
 import myapp.repository.UserRepository;
 import myapp.security.AuthoritiesConstants;
+import myapp.security.DomainUserDetailsService;
 import myapp.security.SecurityUtils;
 import myapp.service.dto.AdminUserDTO;
 import myapp.service.dto.UserDTO;
@@ -17,7 +17,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -36,12 +35,24 @@ public class UserService {
 
     private final PasswordEncoder passwordEncoder;
 
-    private final AuthorityRepository authorityRepository;
+    private final AuthorityCatalog authorityCatalog;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, AuthorityRepository authorityRepository) {
+    private final DomainUserDetailsService userDetailsService;
+
+    private final MailService mailService;
+
+    public UserService(
+        UserRepository userRepository,
+        PasswordEncoder passwordEncoder,
+        AuthorityCatalog authorityCatalog,
+        DomainUserDetailsService userDetailsService,
+        MailService mailService
+    ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
-        this.authorityRepository = authorityRepository;
+        this.authorityCatalog = authorityCatalog;
+        this.userDetailsService = userDetailsService;
+        this.mailService = mailService;
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -52,6 +63,7 @@ public class UserService {
                 // activate given user for the registration key.
                 user.setActivated(true);
                 user.setActivationKey(null);
+                evictUserDetails(user);
                 LOG.debug("Activated user: {}", user);
                 return user;
             });
@@ -66,6 +78,7 @@ public class UserService {
                 user.setPassword(passwordEncoder.encode(newPassword));
                 user.setResetKey(null);
                 user.setResetDate(null);
+                evictUserDetails(user);
                 return user;
             });
     }
@@ -77,6 +90,8 @@ public class UserService {
             .map(user -> {
                 user.setResetKey(RandomUtil.generateResetKey());
                 user.setResetDate(Instant.now());
+                // Queued in this transaction, so that the reset key and its mail are committed together
+                mailService.sendPasswordResetMail(user);
                 return user;
             });
     }
@@ -115,9 +130,10 @@ public class UserService {
         // new user gets registration key
         newUser.setActivationKey(RandomUtil.generateActivationKey());
         Set<Authority> authorities = new HashSet<>();
-        authorityRepository.findById(AuthoritiesConstants.USER).ifPresent(authorities::add);
+        authorityCatalog.findByName(AuthoritiesConstants.USER).ifPresent(authorities::add);
         newUser.setAuthorities(authorities);
         userRepository.save(newUser);
+        mailService.sendActivationEmail(newUser);
         LOG.debug("Created Information for User: {}", newUser);
         return newUser;
     }
@@ -154,13 +170,14 @@ public class UserService {
             Set<Authority> authorities = userDTO
                 .getAuthorities()
                 .stream()
-                .map(authorityRepository::findById)
+                .map(authorityCatalog::findByName)
                 .filter(Optional::isPresent)
                 .map(Optional::get)
                 .collect(Collectors.toSet());
             user.setAuthorities(authorities);
         }
         userRepository.save(user);
+        mailService.sendCreationEmail(user);
         LOG.debug("Created Information for User: {}", user);
         return user;
     }
@@ -176,6 +193,7 @@ public class UserService {
             .filter(Optional::isPresent)
             .map(Optional::get)
             .map(user -> {
+                evictUserDetails(user);
                 user.setLogin(userDTO.getLogin().toLowerCase());
                 user.setFirstName(userDTO.getFirstName());
                 user.setLastName(userDTO.getLastName());
@@ -190,11 +208,12 @@ public class UserService {
                 userDTO
                     .getAuthorities()
                     .stream()
-                    .map(authorityRepository::findById)
+                    .map(authorityCatalog::findByName)
                     .filter(Optional::isPresent)
                     .map(Optional::get)
                     .forEach(managedAuthorities::add);
                 userRepository.save(user);
+                evictUserDetails(user);
                 LOG.debug("Changed Information for User: {}", user);
                 return user;
             })
@@ -206,6 +225,7 @@ public class UserService {
             .findOneByLogin(login)
             .ifPresent(user -> {
                 userRepository.delete(user);
+                evictUserDetails(user);
                 LOG.debug("Deleted User: {}", user);
             });
     }
@@ -223,6 +243,7 @@ public class UserService {
         SecurityUtils.getCurrentUserLogin()
             .flatMap(userRepository::findOneByLogin)
             .ifPresent(user -> {
+                evictUserDetails(user);
                 user.setFirstName(firstName);
                 user.setLastName(lastName);
                 if (email != null) {
@@ -231,6 +252,7 @@ public class UserService {
                 user.setLangKey(langKey);
                 user.setImageUrl(imageUrl);
                 userRepository.save(user);
+                evictUserDetails(user);
                 LOG.debug("Changed Information for User: {}", user);
             });
     }
@@ -246,6 +268,7 @@ public class UserService {
                 }
                 String encryptedPassword = passwordEncoder.encode(newPassword);
                 user.setPassword(encryptedPassword);
+                evictUserDetails(user);
                 LOG.debug("Changed password for User: {}", user);
             });
     }
@@ -271,18 +294,23 @@ public class UserService {
     }
 
     /**
-     * Not activated users should be automatically deleted after 3 days.
+     * Delete a chunk of the not activated users created before a date, with their authorities, using bulk deletes.
      * <p>
-     * This is scheduled to get fired everyday, at 01:00 (am).
+     * The users are locked first, and users locked by another instance are skipped, so that instances running the
+     * cleanup at the same time share the work. Users activated meanwhile are kept.
+     *
+     * @param before the date the users were created before.
+     * @param chunkSize the maximum number of users to delete.
+     * @return the number of deleted users.
      */
-    @Scheduled(cron = "0 0 1 * * ?")
-    public void removeNotActivatedUsers() {
-        userRepository
-            .findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(Instant.now().minus(3, ChronoUnit.DAYS))
-            .forEach(user -> {
-                LOG.debug("Deleting not activated user {}", user.getLogin());
-                userRepository.delete(user);
-            });
+    public int removeNotActivatedUsers(Instant before, int chunkSize) {
+        List<Long> ids = userRepository.findNotActivatedIdsForUpdate(before, Pageable.ofSize(chunkSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int deleted = userRepository.deleteNotActivatedByIdIn(ids);
+        LOG.debug("Deleted {} not activated users", deleted);
+        return deleted;
     }
 
     /**
@@ -291,6 +319,14 @@ public class UserService {
      */
     @Transactional(readOnly = true)
     public List<String> getAuthorities() {
-        return authorityRepository.findAll().stream().map(Authority::getName).toList();
+        return authorityCatalog.getNames();
+    }
+
+    /**
+     * Evict the cached authentication details of a user once the current transaction has committed. Called before and
+     * after a change of login or email, so that both the previous and the new keys are evicted.
+     */
+    private void evictUserDetails(User user) {
+        userDetailsService.evictAfterCommit(user.getLogin(), user.getEmail());
     }
 }
@@ -0,0 +1,162 @@
+package myapp.service;
+
+import jakarta.persistence.EntityManager;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import myapp.aop.pool.ConnectionPool;
+import myapp.domain.WishList;
+import myapp.repository.WishListRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service Implementation for managing {@link myapp.domain.WishList}.
+ */
+@Service
+@Transactional
+public class WishListService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WishListService.class);
+
+    private final WishListRepository wishListRepository;
+
+    private final EntityManager entityManager;
+
+    public WishListService(WishListRepository wishListRepository, EntityManager entityManager) {
+        this.wishListRepository = wishListRepository;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Save a wishList.
+     *
+     * @param wishList the entity to save.
+     * @return the persisted entity.
+     */
+    public WishList save(WishList wishList) {
+        LOG.debug("Request to save WishList : {}", wishList);
+        return wishListRepository.save(wishList);
+    }
+
+    /**
+     * Update a wishList.
+     *
+     * @param wishList the entity to save.
+     * @return the persisted entity.
+     */
+    public WishList update(WishList wishList) {
+        LOG.debug("Request to update WishList : {}", wishList);
+        return wishListRepository.save(wishList);
+    }
+
+    /**
+     * Partially update a wishList.
+     *
+     * @param wishList the entity to update partially.
+     * @return the persisted entity.
+     */
+    public Optional<WishList> partialUpdate(WishList wishList) {
+        LOG.debug("Request to partially update WishList : {}", wishList);
+
+        return wishListRepository
+            .findById(wishList.getId())
+            .map(existingWishList -> {
+                if (wishList.getTitle() != null) {
+                    existingWishList.setTitle(wishList.getTitle());
+                }
+                if (wishList.getRestricted() != null) {
+                    existingWishList.setRestricted(wishList.getRestricted());
+                }
+
+                return existingWishList;
+            })
+            .map(wishListRepository::save);
+    }
+
+    /**
+     * Get all the wishLists, or those of a customer, optionally only those whose title contains a text.
+     *
+     * @param customerId the id of the customer, or {@code null} for all the wishLists.
+     * @param title the text to search in the titles, ignoring case, or {@code null} for any title.
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<WishList> findAll(@Nullable Long customerId, @Nullable String title, Pageable pageable) {
+        LOG.debug("Request to get all WishLists of Customer : {} with title : {}", customerId, title);
+        if (title == null) {
+            return customerId == null ? wishListRepository.findAll(pageable) : wishListRepository.findAllByCustomerId(customerId, pageable);
+        }
+        return customerId == null
+            ? wishListRepository.findAllByTitleContainingIgnoreCase(title, pageable)
+            : wishListRepository.findAllByCustomerIdAndTitleContainingIgnoreCase(customerId, title, pageable);
+    }
+
+    /**
+     * Get a window of the wishLists, or of those of a customer, using keyset pagination.
+     *
+     * @param customerId the id of the customer, or {@code null} for all the wishLists.
+     * @param position the position to scroll from.
+     * @param sort the keyset sort.
+     * @param size the maximum number of entities.
+     * @return the window of entities.
+     */
+    @Transactional(readOnly = true)
+    public Window<WishList> findAll(@Nullable Long customerId, ScrollPosition position, Sort sort, int size) {
+        LOG.debug("Request to get a window of WishLists of Customer : {}", customerId);
+        return customerId == null
+            ? wishListRepository.findAllBy(position, sort, Limit.of(size))
+            : wishListRepository.findAllByCustomerId(customerId, position, sort, Limit.of(size));
+    }
+
+    /**
+     * Pass all the wishLists to a consumer by ascending id, reading them through a database cursor.
+     * <p>
+     * Each wishList is detached once consumed, so that the persistence context does not grow with the number of wishLists.
+     *
+     * @param consumer the consumer of the wishLists.
+     */
+    @Transactional(readOnly = true)
+    @ConnectionPool("reporting")
+    public void exportAll(Consumer<WishList> consumer) {
+        LOG.debug("Request to export all WishLists");
+        try (Stream<WishList> wishLists = wishListRepository.streamAll()) {
+            wishLists.forEach(wishList -> {
+                consumer.accept(wishList);
+                entityManager.detach(wishList);
+            });
+        }
+    }
+
+    /**
+     * Get one wishList by id.
+     *
+     * @param id the id of the entity.
+     * @return the entity.
+     */
+    @Transactional(readOnly = true)
+    public Optional<WishList> findOne(Long id) {
+        LOG.debug("Request to get WishList : {}", id);
+        return wishListRepository.findById(id);
+    }
+
+    /**
+     * Delete the wishList by id.
+     *
+     * @param id the id of the entity.
+     */
+    public void delete(Long id) {
+        LOG.debug("Request to delete WishList : {}", id);
+        wishListRepository.deleteById(id);
+    }
+}
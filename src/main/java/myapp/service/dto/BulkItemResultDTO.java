@@ -0,0 +1,91 @@
+package myapp.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO representing the outcome of one element of a bulk request.
+ */
+public class BulkItemResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Status {
+        CREATED,
+        INVALID,
+        FAILED,
+    }
+
+    private int index;
+
+    private Long id;
+
+    private Status status;
+
+    private String error;
+
+    public BulkItemResultDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public BulkItemResultDTO(int index, Long id, Status status, String error) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+        this.error = error;
+    }
+
+    public static BulkItemResultDTO created(int index, Long id) {
+        return new BulkItemResultDTO(index, id, Status.CREATED, null);
+    }
+
+    public static BulkItemResultDTO invalid(int index, String error) {
+        return new BulkItemResultDTO(index, null, Status.INVALID, error);
+    }
+
+    public static BulkItemResultDTO failed(int index, String error) {
+        return new BulkItemResultDTO(index, null, Status.FAILED, error);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BulkItemResultDTO{" +
+            "index=" + index +
+            ", id=" + id +
+            ", status=" + status +
+            ", error='" + error + "'" +
+            "}";
+    }
+}
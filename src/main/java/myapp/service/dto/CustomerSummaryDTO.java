@@ -0,0 +1,42 @@
+package myapp.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A read-only DTO for the customer page: the {@link myapp.domain.Customer} with its addresses, its wish lists and its
+ * most recent orders with their products.
+ * <p>
+ * It is immutable, so that it can be cached and shared between requests.
+ */
+public record CustomerSummaryDTO(
+    Long id,
+    String firstName,
+    String lastName,
+    String email,
+    String telephone,
+    List<AddressSummary> addresses,
+    List<WishListSummary> wishLists,
+    List<OrderSummary> recentOrders
+) implements Serializable {
+    public record AddressSummary(Long id, String address1, String address2, String city, String postcode, String country)
+        implements Serializable {}
+
+    public record WishListSummary(Long id, String title, Boolean restricted) implements Serializable {}
+
+    public record OrderSummary(
+        Long id,
+        Instant orderDate,
+        Instant shippedDate,
+        String status,
+        BigDecimal totalAmount,
+        BigDecimal shippingCost,
+        String trackingNumber,
+        Long shippingAddressId,
+        List<OrderedProduct> products
+    ) implements Serializable {}
+
+    public record OrderedProduct(Long id, String title, BigDecimal price) implements Serializable {}
+}
@@ -0,0 +1,74 @@
+package myapp.service.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.io.Serializable;
+
+/**
+ * A DTO representing a product and the quantity of it reserved by an order.
+ */
+public class OrderLineDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Status {
+        /** The quantity was taken from the stock. */
+        RESERVED,
+        /** The stock was large enough, but nothing was taken since another line of the order is out of stock. */
+        AVAILABLE,
+        /** The stock was not large enough. */
+        OUT_OF_STOCK,
+    }
+
+    @NotNull
+    private Long productId;
+
+    @NotNull
+    @Min(1)
+    private Integer quantity;
+
+    private Status status;
+
+    public OrderLineDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public OrderLineDTO(Long productId, Integer quantity) {
+        this.productId = productId;
+        this.quantity = quantity;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OrderLineDTO{" +
+            "productId=" + productId +
+            ", quantity=" + quantity +
+            ", status=" + status +
+            "}";
+    }
+}
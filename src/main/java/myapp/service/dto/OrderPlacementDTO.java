@@ -0,0 +1,51 @@
+package myapp.service.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import myapp.domain.Order;
+
+/**
+ * A DTO representing an order to place, with the products it reserves.
+ */
+public class OrderPlacementDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @NotNull
+    @Valid
+    private Order order;
+
+    @NotEmpty
+    @Size(max = 100)
+    private List<@Valid @NotNull OrderLineDTO> lines = new ArrayList<>();
+
+    public Order getOrder() {
+        return order;
+    }
+
+    public void setOrder(Order order) {
+        this.order = order;
+    }
+
+    public List<OrderLineDTO> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<OrderLineDTO> lines) {
+        this.lines = lines;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OrderPlacementDTO{" +
+            "order=" + order +
+            ", lines=" + lines +
+            "}";
+    }
+}
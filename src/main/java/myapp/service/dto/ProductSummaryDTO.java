@@ -0,0 +1,109 @@
+package myapp.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.List;
+import myapp.domain.enumeration.ProductStatus;
+
+/**
+ * A read-only DTO for listing {@link myapp.domain.Product}s, with the fields needed by list pages only.
+ * <p>
+ * When it is built for a sparse fieldset, the fields that were not requested are left {@code null} and are not
+ * serialized.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProductSummaryDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final String ID = "id";
+
+    public static final String TITLE = "title";
+
+    public static final String PRICE = "price";
+
+    public static final String STATUS = "status";
+
+    public static final String RATING = "rating";
+
+    public static final String QUANTITY_IN_STOCK = "quantityInStock";
+
+    /**
+     * The fields that can be requested, in serialization order. They are named after the {@code Product} attributes.
+     */
+    public static final List<String> FIELDS = List.of(ID, TITLE, PRICE, STATUS, RATING, QUANTITY_IN_STOCK);
+
+    private Long id;
+
+    private String title;
+
+    private BigDecimal price;
+
+    private ProductStatus status;
+
+    private Integer rating;
+
+    private Integer quantityInStock;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    public ProductStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ProductStatus status) {
+        this.status = status;
+    }
+
+    public Integer getRating() {
+        return rating;
+    }
+
+    public void setRating(Integer rating) {
+        this.rating = rating;
+    }
+
+    public Integer getQuantityInStock() {
+        return quantityInStock;
+    }
+
+    public void setQuantityInStock(Integer quantityInStock) {
+        this.quantityInStock = quantityInStock;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ProductSummaryDTO{" +
+            "id=" + id +
+            ", title='" + title + "'" +
+            ", price=" + price +
+            ", status='" + status + "'" +
+            ", rating=" + rating +
+            ", quantityInStock=" + quantityInStock +
+            "}";
+    }
+}
@@ -1,5 +1,6 @@
 package myapp.web.rest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
@@ -9,16 +10,22 @@ import java.util.Objects;
 import java.util.Optional;
 import myapp.domain.Address;
 import myapp.repository.AddressRepository;
+import myapp.service.AddressService;
 import myapp.web.rest.errors.BadRequestAlertException;
+import myapp.web.util.CursorPaginationUtil;
+import myapp.web.util.ExportUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -29,20 +36,35 @@ import tech.jhipster.web.util.ResponseUtil;
  */
 @RestController
 @RequestMapping("/api/addresses")
-@Transactional
 public class AddressResource {
 
     private static final Logger LOG = LoggerFactory.getLogger(AddressResource.class);
 
     private static final String ENTITY_NAME = "address";
 
+    private static final List<ExportUtil.Column<Address>> EXPORT_COLUMNS = List.of(
+        ExportUtil.Column.of("id", Address::getId),
+        ExportUtil.Column.of("address1", Address::getAddress1),
+        ExportUtil.Column.of("address2", Address::getAddress2),
+        ExportUtil.Column.of("city", Address::getCity),
+        ExportUtil.Column.of("postcode", Address::getPostcode),
+        ExportUtil.Column.of("country", Address::getCountry),
+        ExportUtil.Column.of("customerId", address -> address.getCustomer() == null ? null : address.getCustomer().getId())
+    );
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
+    private final AddressService addressService;
+
     private final AddressRepository addressRepository;
 
-    public AddressResource(AddressRepository addressRepository) {
+    private final ObjectMapper objectMapper;
+
+    public AddressResource(AddressService addressService, AddressRepository addressRepository, ObjectMapper objectMapper) {
+        this.addressService = addressService;
         this.addressRepository = addressRepository;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -58,7 +80,7 @@ public class AddressResource {
         if (address.getId() != null) {
             throw new BadRequestAlertException("A new address cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        address = addressRepository.save(address);
+        address = addressService.save(address);
         return ResponseEntity.created(new URI("/api/addresses/" + address.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, address.getId().toString()))
             .body(address);
@@ -91,7 +113,7 @@ public class AddressResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        address = addressRepository.save(address);
+        address = addressService.update(address);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, address.getId().toString()))
             .body(address);
@@ -125,28 +147,7 @@ public class AddressResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        Optional<Address> result = addressRepository
-            .findById(address.getId())
-            .map(existingAddress -> {
-                if (address.getAddress1() != null) {
-                    existingAddress.setAddress1(address.getAddress1());
-                }
-                if (address.getAddress2() != null) {
-                    existingAddress.setAddress2(address.getAddress2());
-                }
-                if (address.getCity() != null) {
-                    existingAddress.setCity(address.getCity());
-                }
-                if (address.getPostcode() != null) {
-                    existingAddress.setPostcode(address.getPostcode());
-                }
-                if (address.getCountry() != null) {
-                    existingAddress.setCountry(address.getCountry());
-                }
-
-                return existingAddress;
-            })
-            .map(addressRepository::save);
+        Optional<Address> result = addressService.partialUpdate(address);
 
         return ResponseUtil.wrapOrNotFound(
             result,
@@ -157,17 +158,65 @@ public class AddressResource {
     /**
      * {@code GET  /addresses} : get all the addresses.
      *
+     * @param customerId the id of the customer to get the addresses of, or {@code null} for all the addresses.
      * @param pageable the pagination information.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of addresses in body.
      */
     @GetMapping("")
-    public ResponseEntity<List<Address>> getAllAddresses(@org.springdoc.core.annotations.ParameterObject Pageable pageable) {
-        LOG.debug("REST request to get a page of Addresses");
-        Page<Address> page = addressRepository.findAll(pageable);
+    public ResponseEntity<List<Address>> getAllAddresses(
+        @RequestParam(value = "customerId", required = false) Long customerId,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        LOG.debug("REST request to get a page of Addresses of Customer : {}", customerId);
+        Page<Address> page = addressService.findAll(customerId, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /addresses?cursor=} : get a window of the addresses, using keyset pagination.
+     * <p>
+     * The first window is requested with an empty cursor. When more addresses are available, the response carries a
+     * {@code Link: rel="next"} header with the cursor of the following window. No total count is computed.
+     *
+     * @param cursor the continuation token, empty for the first window.
+     * @param customerId the id of the customer to get the addresses of, or {@code null} for all the addresses.
+     * @param orderBy the keyset ordering, only {@code id}.
+     * @param size the maximum number of addresses in the window.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of addresses in body.
+     */
+    @GetMapping(value = "", params = CursorPaginationUtil.CURSOR_PARAMETER)
+    public ResponseEntity<List<Address>> getAllAddressesByCursor(
+        @RequestParam(CursorPaginationUtil.CURSOR_PARAMETER) String cursor,
+        @RequestParam(value = "customerId", required = false) Long customerId,
+        @RequestParam(value = "orderBy", defaultValue = "id") String orderBy,
+        @RequestParam(value = "size", defaultValue = "20") int size
+    ) {
+        LOG.debug("REST request to get a window of Addresses of Customer : {}", customerId);
+        Sort sort = CursorPaginationUtil.keysetSort(orderBy, List.of(), ENTITY_NAME);
+        ScrollPosition position = CursorPaginationUtil.decodeCursor(cursor, sort, ENTITY_NAME);
+        Window<Address> window = addressService.findAll(customerId, position, sort, CursorPaginationUtil.boundedSize(size));
+        HttpHeaders headers = CursorPaginationUtil.generateCursorHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), window, sort);
+        return ResponseEntity.ok().headers(headers).body(window.getContent());
+    }
+
+    /**
+     * {@code GET  /addresses/_export} : export all the addresses, as NDJSON or CSV.
+     * <p>
+     * The addresses are read by ascending id from a database cursor while the response is written, instead of being
+     * fetched page by page.
+     *
+     * @param format the export format, {@code ndjson} or {@code csv}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the addresses streamed in body.
+     */
+    @GetMapping("/_export")
+    public ResponseEntity<StreamingResponseBody> exportAddresses(
+        @RequestParam(value = ExportUtil.FORMAT_PARAMETER, defaultValue = "ndjson") String format
+    ) {
+        LOG.debug("REST request to export Addresses as {}", format);
+        return ExportUtil.export("addresses", ExportUtil.format(format, ENTITY_NAME), objectMapper, EXPORT_COLUMNS, addressService::exportAll);
+    }
+
     /**
      * {@code GET  /addresses/:id} : get the "id" address.
      *
@@ -177,7 +226,7 @@ public class AddressResource {
     @GetMapping("/{id}")
     public ResponseEntity<Address> getAddress(@PathVariable("id") Long id) {
         LOG.debug("REST request to get Address : {}", id);
-        Optional<Address> address = addressRepository.findById(id);
+        Optional<Address> address = addressService.findOne(id);
         return ResponseUtil.wrapOrNotFound(address);
     }
 
@@ -190,7 +239,7 @@ public class AddressResource {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteAddress(@PathVariable("id") Long id) {
         LOG.debug("REST request to delete Address : {}", id);
-        addressRepository.deleteById(id);
+        addressService.delete(id);
         return ResponseEntity.noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString()))
             .build();
@@ -4,11 +4,14 @@ import static myapp.security.SecurityUtils.AUTHORITIES_KEY;
 import static myapp.security.SecurityUtils.JWT_ALGORITHM;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import java.security.Principal;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.stream.Collectors;
+import myapp.security.LoginRateLimiter;
+import myapp.web.rest.errors.TooManyRequestsException;
 import myapp.web.rest.vm.LoginVM;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,13 +50,26 @@ public class AuthenticateController {
 
     private final AuthenticationManagerBuilder authenticationManagerBuilder;
 
-    public AuthenticateController(JwtEncoder jwtEncoder, AuthenticationManagerBuilder authenticationManagerBuilder) {
+    private final LoginRateLimiter loginRateLimiter;
+
+    public AuthenticateController(
+        JwtEncoder jwtEncoder,
+        AuthenticationManagerBuilder authenticationManagerBuilder,
+        LoginRateLimiter loginRateLimiter
+    ) {
         this.jwtEncoder = jwtEncoder;
         this.authenticationManagerBuilder = authenticationManagerBuilder;
+        this.loginRateLimiter = loginRateLimiter;
     }
 
     @PostMapping("/authenticate")
-    public ResponseEntity<JWTToken> authorize(@Valid @RequestBody LoginVM loginVM) {
+    public ResponseEntity<JWTToken> authorize(@Valid @RequestBody LoginVM loginVM, HttpServletRequest request) {
+        // Checked before the password is hashed, so that rejected attempts cost nothing
+        String clientAddress = loginRateLimiter.resolveClientAddress(request.getRemoteAddr(), request.getHeader("X-Forwarded-For"));
+        if (!loginRateLimiter.tryAcquire(loginVM.getUsername(), clientAddress)) {
+            LOG.debug("Too many authentication attempts for {} from {}", loginVM.getUsername(), clientAddress);
+            throw new TooManyRequestsException("Too many authentication attempts, retry later", loginRateLimiter.getWindow());
+        }
         UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
             loginVM.getUsername(),
             loginVM.getPassword()
@@ -7,6 +7,7 @@ import java.util.List;
 import java.util.Optional;
 import myapp.domain.Authority;
 import myapp.repository.AuthorityRepository;
+import myapp.service.AuthorityCatalog;
 import myapp.web.rest.errors.BadRequestAlertException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,8 +36,11 @@ public class AuthorityResource {
 
     private final AuthorityRepository authorityRepository;
 
-    public AuthorityResource(AuthorityRepository authorityRepository) {
+    private final AuthorityCatalog authorityCatalog;
+
+    public AuthorityResource(AuthorityRepository authorityRepository, AuthorityCatalog authorityCatalog) {
         this.authorityRepository = authorityRepository;
+        this.authorityCatalog = authorityCatalog;
     }
 
     /**
@@ -54,6 +58,7 @@ public class AuthorityResource {
             throw new BadRequestAlertException("authority already exists", ENTITY_NAME, "idexists");
         }
         authority = authorityRepository.save(authority);
+        authorityCatalog.refreshAfterCommit();
         return ResponseEntity.created(new URI("/api/authorities/" + authority.getName()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, authority.getName()))
             .body(authority);
@@ -96,6 +101,7 @@ public class AuthorityResource {
     public ResponseEntity<Void> deleteAuthority(@PathVariable("id") String id) {
         LOG.debug("REST request to delete Authority : {}", id);
         authorityRepository.deleteById(id);
+        authorityCatalog.refreshAfterCommit();
         return ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id)).build();
     }
 }
@@ -8,8 +8,11 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import myapp.domain.Category;
+import myapp.domain.Product;
 import myapp.repository.CategoryRepository;
+import myapp.service.CategoryHierarchyService;
 import myapp.service.CategoryService;
+import myapp.service.ProductService;
 import myapp.web.rest.errors.BadRequestAlertException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,9 +45,20 @@ public class CategoryResource {
 
     private final CategoryRepository categoryRepository;
 
-    public CategoryResource(CategoryService categoryService, CategoryRepository categoryRepository) {
+    private final CategoryHierarchyService categoryHierarchyService;
+
+    private final ProductService productService;
+
+    public CategoryResource(
+        CategoryService categoryService,
+        CategoryRepository categoryRepository,
+        CategoryHierarchyService categoryHierarchyService,
+        ProductService productService
+    ) {
         this.categoryService = categoryService;
         this.categoryRepository = categoryRepository;
+        this.categoryHierarchyService = categoryHierarchyService;
+        this.productService = productService;
     }
 
     /**
@@ -171,6 +185,39 @@ public class CategoryResource {
         return ResponseUtil.wrapOrNotFound(category);
     }
 
+    /**
+     * {@code GET  /categories/:id/ancestors} : get the ancestors of the "id" category, from the root down to the category itself.
+     *
+     * @param id the id of the category.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of categories in body, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/{id}/ancestors")
+    public ResponseEntity<List<Category>> getCategoryAncestors(@PathVariable("id") Long id) {
+        LOG.debug("REST request to get the ancestors of Category : {}", id);
+        return ResponseUtil.wrapOrNotFound(categoryHierarchyService.findAncestors(id));
+    }
+
+    /**
+     * {@code GET  /categories/:id/descendant-products} : get the products of the "id" category and of all its descendants.
+     *
+     * @param id the id of the category.
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of products in body, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/{id}/descendant-products")
+    public ResponseEntity<List<Product>> getCategoryDescendantProducts(
+        @PathVariable("id") Long id,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        LOG.debug("REST request to get a page of Products of Category and descendants : {}", id);
+        if (!categoryRepository.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        Page<Product> page = productService.findAllByCategorySubtree(id, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
     /**
      * {@code DELETE  /categories/:id} : delete the "id" category.
      *
@@ -10,6 +10,7 @@ import java.util.Optional;
 import myapp.domain.Customer;
 import myapp.repository.CustomerRepository;
 import myapp.service.CustomerService;
+import myapp.service.dto.CustomerSummaryDTO;
 import myapp.web.rest.errors.BadRequestAlertException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -162,6 +163,20 @@ public class CustomerResource {
         return ResponseUtil.wrapOrNotFound(customer);
     }
 
+    /**
+     * {@code GET  /customers/:id/summary} : get the summary of the "id" customer, with its addresses, wish lists and most
+     * recent orders.
+     *
+     * @param id the id of the customer to retrieve.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the summary, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/{id}/summary")
+    public ResponseEntity<CustomerSummaryDTO> getCustomerSummary(@PathVariable("id") Long id) {
+        LOG.debug("REST request to get the summary of Customer : {}", id);
+        Optional<CustomerSummaryDTO> summary = customerService.findSummary(id);
+        return ResponseUtil.wrapOrNotFound(summary);
+    }
+
     /**
      * {@code DELETE  /customers/:id} : delete the "id" customer.
      *
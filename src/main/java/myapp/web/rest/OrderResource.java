@@ -1,24 +1,45 @@
 package myapp.web.rest;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import myapp.config.ApplicationProperties;
 import myapp.domain.Order;
 import myapp.repository.OrderRepository;
 import myapp.service.OrderService;
+import myapp.service.dto.BulkItemResultDTO;
+import myapp.service.dto.OrderPlacementDTO;
 import myapp.web.rest.errors.BadRequestAlertException;
+import myapp.web.util.CursorPaginationUtil;
+import myapp.web.util.ExportUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -35,6 +56,20 @@ public class OrderResource {
 
     private static final String ENTITY_NAME = "order";
 
+    private static final List<String> KEYSET_TIMESTAMP_PROPERTIES = List.of("orderDate");
+
+    private static final List<ExportUtil.Column<Order>> EXPORT_COLUMNS = List.of(
+        ExportUtil.Column.of("id", Order::getId),
+        ExportUtil.Column.of("orderDate", Order::getOrderDate),
+        ExportUtil.Column.of("shippedDate", Order::getShippedDate),
+        ExportUtil.Column.of("status", Order::getStatus),
+        ExportUtil.Column.of("totalAmount", Order::getTotalAmount),
+        ExportUtil.Column.of("shippingCost", Order::getShippingCost),
+        ExportUtil.Column.of("trackingNumber", Order::getTrackingNumber),
+        ExportUtil.Column.of("shippingAddressId", order -> order.getShippingAddress() == null ? null : order.getShippingAddress().getId()),
+        ExportUtil.Column.of("customerId", order -> order.getCustomer() == null ? null : order.getCustomer().getId())
+    );
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -42,9 +77,24 @@ public class OrderResource {
 
     private final OrderRepository orderRepository;
 
-    public OrderResource(OrderService orderService, OrderRepository orderRepository) {
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    private final int bulkChunkSize;
+
+    public OrderResource(
+        OrderService orderService,
+        OrderRepository orderRepository,
+        ObjectMapper objectMapper,
+        Validator validator,
+        ApplicationProperties applicationProperties
+    ) {
         this.orderService = orderService;
         this.orderRepository = orderRepository;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.bulkChunkSize = applicationProperties.getBulk().getChunkSize();
     }
 
     /**
@@ -66,6 +116,143 @@ public class OrderResource {
             .body(order);
     }
 
+    /**
+     * {@code POST  /orders/_place} : Place a new order, reserving the products of its lines.
+     * <p>
+     * Either all the lines are reserved and the order is created, or nothing is.
+     *
+     * @param placement the order to create, and its lines.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new order and its reserved lines,
+     * with status {@code 400 (Bad Request)} if the order has already an ID, or with status {@code 409 (Conflict)} and the status of each line if one is out of stock.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PostMapping("/_place")
+    public ResponseEntity<OrderPlacementDTO> placeOrder(@Valid @RequestBody OrderPlacementDTO placement) throws URISyntaxException {
+        LOG.debug("REST request to place Order : {}", placement);
+        if (placement.getOrder().getId() != null) {
+            throw new BadRequestAlertException("A new order cannot already have an ID", ENTITY_NAME, "idexists");
+        }
+        placement = orderService.place(placement);
+        Long id = placement.getOrder().getId();
+        return ResponseEntity.created(new URI("/api/orders/" + id))
+            .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, id.toString()))
+            .body(placement);
+    }
+
+    /**
+     * {@code POST  /orders/_bulk} : Create new orders from a JSON array.
+     * <p>
+     * The array is read element by element. Valid orders are saved in chunks of {@code application.bulk.chunk-size},
+     * one transaction per chunk. When a chunk fails, its orders are retried one by one so that a single bad order
+     * does not reject its neighbours. If the array becomes malformed part way, the elements read so far are still
+     * saved and the result list ends with the position of the error.
+     *
+     * @param body the JSON array of orders to create.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each element, in request order,
+     * or with status {@code 400 (Bad Request)} if the body is not a JSON array.
+     * @throws IOException if the body cannot be read.
+     */
+    @PostMapping(value = "/_bulk", consumes = "application/json")
+    public ResponseEntity<List<BulkItemResultDTO>> createOrders(InputStream body) throws IOException {
+        LOG.debug("REST request to save Orders in bulk");
+        List<BulkItemResultDTO> results = new ArrayList<>();
+        List<Order> chunk = new ArrayList<>(bulkChunkSize);
+        List<Integer> chunkIndexes = new ArrayList<>(bulkChunkSize);
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            if (nextToken(parser) != JsonToken.START_ARRAY) {
+                throw new BadRequestAlertException("A JSON array of orders is expected", ENTITY_NAME, "bulkinvalid");
+            }
+            int index = 0;
+            try {
+                for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken(), index++) {
+                    if (token == null) {
+                        results.add(BulkItemResultDTO.invalid(index, "Unterminated JSON array"));
+                        break;
+                    }
+                    JsonNode node = objectMapper.readTree(parser);
+                    Order order = null;
+                    String error;
+                    try {
+                        order = objectMapper.treeToValue(node, Order.class);
+                        error = validate(order);
+                    } catch (JsonProcessingException e) {
+                        error = "Invalid order: " + e.getOriginalMessage();
+                    }
+                    if (error != null) {
+                        results.add(BulkItemResultDTO.invalid(index, error));
+                        continue;
+                    }
+                    chunk.add(order);
+                    chunkIndexes.add(index);
+                    if (chunk.size() == bulkChunkSize) {
+                        results.addAll(saveChunk(chunk, chunkIndexes));
+                        chunk.clear();
+                        chunkIndexes.clear();
+                    }
+                }
+            } catch (JsonProcessingException e) {
+                // The rest of the array cannot be read: keep the elements parsed so far and report where it stopped
+                results.add(BulkItemResultDTO.invalid(index, "Malformed JSON: " + e.getOriginalMessage()));
+            }
+        }
+        if (!chunk.isEmpty()) {
+            results.addAll(saveChunk(chunk, chunkIndexes));
+        }
+        results.sort((a, b) -> Integer.compare(a.getIndex(), b.getIndex()));
+        return ResponseEntity.ok().body(results);
+    }
+
+    private JsonToken nextToken(JsonParser parser) throws IOException {
+        try {
+            return parser.nextToken();
+        } catch (JsonProcessingException e) {
+            throw new BadRequestAlertException("A JSON array of orders is expected", ENTITY_NAME, "bulkinvalid");
+        }
+    }
+
+    private String validate(Order order) {
+        if (order == null) {
+            return "An order is expected";
+        }
+        if (order.getId() != null) {
+            return "A new order cannot already have an ID";
+        }
+        Set<ConstraintViolation<Order>> violations = validator.validate(order);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations
+            .stream()
+            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+            .sorted()
+            .collect(Collectors.joining(", "));
+    }
+
+    private List<BulkItemResultDTO> saveChunk(List<Order> chunk, List<Integer> chunkIndexes) {
+        List<BulkItemResultDTO> results = new ArrayList<>(chunk.size());
+        try {
+            List<Order> saved = orderService.saveAll(chunk);
+            for (int i = 0; i < saved.size(); i++) {
+                results.add(BulkItemResultDTO.created(chunkIndexes.get(i), saved.get(i).getId()));
+            }
+            return results;
+        } catch (RuntimeException e) {
+            LOG.warn("Could not save a chunk of {} Orders, retrying them one by one: {}", chunk.size(), e.getMessage());
+        }
+        for (int i = 0; i < chunk.size(); i++) {
+            Order order = chunk.get(i);
+            // The rolled back chunk may have assigned an id already
+            order.setId(null);
+            try {
+                results.add(BulkItemResultDTO.created(chunkIndexes.get(i), orderService.save(order).getId()));
+            } catch (RuntimeException e) {
+                LOG.warn("Could not save Order at index {}: {}", chunkIndexes.get(i), e.getMessage());
+                results.add(BulkItemResultDTO.failed(chunkIndexes.get(i), "The order could not be saved"));
+            }
+        }
+        return results;
+    }
+
     /**
      * {@code PUT  /orders/:id} : Updates an existing order.
      *
@@ -147,6 +334,48 @@ public class OrderResource {
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /orders?cursor=} : get a window of the orders, using keyset pagination.
+     * <p>
+     * The first window is requested with an empty cursor. When more orders are available, the response carries a
+     * {@code Link: rel="next"} header with the cursor of the following window. No total count is computed.
+     *
+     * @param cursor the continuation token, empty for the first window.
+     * @param orderBy the keyset ordering, either {@code id} or {@code orderDate} (then {@code id}).
+     * @param size the maximum number of orders in the window.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of orders in body.
+     */
+    @GetMapping(value = "", params = CursorPaginationUtil.CURSOR_PARAMETER)
+    public ResponseEntity<List<Order>> getAllOrdersByCursor(
+        @RequestParam(CursorPaginationUtil.CURSOR_PARAMETER) String cursor,
+        @RequestParam(value = "orderBy", defaultValue = "id") String orderBy,
+        @RequestParam(value = "size", defaultValue = "20") int size
+    ) {
+        LOG.debug("REST request to get a window of Orders");
+        Sort sort = CursorPaginationUtil.keysetSort(orderBy, KEYSET_TIMESTAMP_PROPERTIES, ENTITY_NAME);
+        ScrollPosition position = CursorPaginationUtil.decodeCursor(cursor, sort, ENTITY_NAME);
+        Window<Order> window = orderService.findAll(position, sort, CursorPaginationUtil.boundedSize(size));
+        HttpHeaders headers = CursorPaginationUtil.generateCursorHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), window, sort);
+        return ResponseEntity.ok().headers(headers).body(window.getContent());
+    }
+
+    /**
+     * {@code GET  /orders/_export} : export all the orders, as NDJSON or CSV.
+     * <p>
+     * The orders are read by ascending id from a database cursor while the response is written, instead of being
+     * fetched page by page.
+     *
+     * @param format the format of the export, {@code ndjson} (the default) or {@code csv}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the orders in body, or with status {@code 400 (Bad Request)} if the format is unknown.
+     */
+    @GetMapping("/_export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+        @RequestParam(value = ExportUtil.FORMAT_PARAMETER, defaultValue = "ndjson") String format
+    ) {
+        LOG.debug("REST request to export Orders as {}", format);
+        return ExportUtil.export("orders", ExportUtil.format(format, ENTITY_NAME), objectMapper, EXPORT_COLUMNS, orderService::exportAll);
+    }
+
     /**
      * {@code GET  /orders/:id} : get the "id" order.
      *
@@ -1,5 +1,6 @@
 package myapp.web.rest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
@@ -10,15 +11,22 @@ import java.util.Optional;
 import myapp.domain.Product;
 import myapp.repository.ProductRepository;
 import myapp.service.ProductService;
+import myapp.service.dto.ProductSummaryDTO;
 import myapp.web.rest.errors.BadRequestAlertException;
+import myapp.web.util.CursorPaginationUtil;
+import myapp.web.util.ExportUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -35,6 +43,25 @@ public class ProductResource {
 
     private static final String ENTITY_NAME = "product";
 
+    private static final List<String> KEYSET_TIMESTAMP_PROPERTIES = List.of("dateAdded");
+
+    private static final List<ExportUtil.Column<Product>> EXPORT_COLUMNS = List.of(
+        ExportUtil.Column.of("id", Product::getId),
+        ExportUtil.Column.of("title", Product::getTitle),
+        ExportUtil.Column.of("keywords", Product::getKeywords),
+        ExportUtil.Column.of("description", Product::getDescription),
+        ExportUtil.Column.of("rating", Product::getRating),
+        ExportUtil.Column.of("price", Product::getPrice),
+        ExportUtil.Column.of("quantityInStock", Product::getQuantityInStock),
+        ExportUtil.Column.of("status", Product::getStatus),
+        ExportUtil.Column.of("weight", Product::getWeight),
+        ExportUtil.Column.of("dimensions", Product::getDimensions),
+        ExportUtil.Column.of("dateAdded", Product::getDateAdded),
+        ExportUtil.Column.of("dateModified", Product::getDateModified),
+        ExportUtil.Column.of("wishListId", product -> product.getWishList() == null ? null : product.getWishList().getId()),
+        ExportUtil.Column.of("orderId", product -> product.getOrder() == null ? null : product.getOrder().getId())
+    );
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -42,9 +69,12 @@ public class ProductResource {
 
     private final ProductRepository productRepository;
 
-    public ProductResource(ProductService productService, ProductRepository productRepository) {
+    private final ObjectMapper objectMapper;
+
+    public ProductResource(ProductService productService, ProductRepository productRepository, ObjectMapper objectMapper) {
         this.productService = productService;
         this.productRepository = productRepository;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -149,6 +179,97 @@ public class ProductResource {
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /products?fields=} : get all the products as summaries, for list pages.
+     * <p>
+     * Only the requested columns are read, and no entity is loaded. The id is always returned; an empty list of fields
+     * returns all the summary fields.
+     *
+     * @param fields the fields to return, among {@code id}, {@code title}, {@code price}, {@code status}, {@code rating} and {@code quantityInStock}.
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of product summaries in body,
+     * or with status {@code 400 (Bad Request)} if a field is unknown.
+     */
+    @GetMapping(value = "", params = { "fields", "!" + CursorPaginationUtil.CURSOR_PARAMETER })
+    public ResponseEntity<List<ProductSummaryDTO>> getAllProductSummaries(
+        @RequestParam("fields") List<String> fields,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        LOG.debug("REST request to get a page of Product summaries with fields : {}", fields);
+        if (!ProductSummaryDTO.FIELDS.containsAll(fields)) {
+            throw new BadRequestAlertException("Unknown product field", ENTITY_NAME, "fieldsinvalid");
+        }
+        Page<ProductSummaryDTO> page = productService.findAllSummaries(fields.isEmpty() ? ProductSummaryDTO.FIELDS : fields, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /products?cursor=} : get a window of the products, using keyset pagination.
+     * <p>
+     * The first window is requested with an empty cursor. When more products are available, the response carries a
+     * {@code Link: rel="next"} header with the cursor of the following window. No total count is computed.
+     *
+     * @param cursor the continuation token, empty for the first window.
+     * @param orderBy the keyset ordering, either {@code id} or {@code dateAdded} (then {@code id}).
+     * @param size the maximum number of products in the window.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of products in body.
+     */
+    @GetMapping(value = "", params = CursorPaginationUtil.CURSOR_PARAMETER)
+    public ResponseEntity<List<Product>> getAllProductsByCursor(
+        @RequestParam(CursorPaginationUtil.CURSOR_PARAMETER) String cursor,
+        @RequestParam(value = "orderBy", defaultValue = "id") String orderBy,
+        @RequestParam(value = "size", defaultValue = "20") int size
+    ) {
+        LOG.debug("REST request to get a window of Products");
+        Sort sort = CursorPaginationUtil.keysetSort(orderBy, KEYSET_TIMESTAMP_PROPERTIES, ENTITY_NAME);
+        ScrollPosition position = CursorPaginationUtil.decodeCursor(cursor, sort, ENTITY_NAME);
+        Window<Product> window = productService.findAll(position, sort, CursorPaginationUtil.boundedSize(size));
+        HttpHeaders headers = CursorPaginationUtil.generateCursorHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), window, sort);
+        return ResponseEntity.ok().headers(headers).body(window.getContent());
+    }
+
+    /**
+     * {@code GET  /products/_search?query=:query} : search for the product corresponding to the query.
+     * <p>
+     * Title matches rank above keywords matches, which rank above description matches.
+     *
+     * @param query the query of the product search.
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of products in body.
+     */
+    @GetMapping("/_search")
+    public ResponseEntity<List<Product>> searchProducts(
+        @RequestParam("query") String query,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        LOG.debug("REST request to search for a page of Products for query {}", query);
+        try {
+            Page<Product> page = productService.search(query, pageable);
+            HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+            return ResponseEntity.ok().headers(headers).body(page.getContent());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid search query", ENTITY_NAME, "queryinvalid");
+        }
+    }
+
+    /**
+     * {@code GET  /products/_export} : export all the products, as NDJSON or CSV.
+     * <p>
+     * The products are read by ascending id from a database cursor while the response is written, instead of being
+     * fetched page by page.
+     *
+     * @param format the format of the export, {@code ndjson} (the default) or {@code csv}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the products in body, or with status {@code 400 (Bad Request)} if the format is unknown.
+     */
+    @GetMapping("/_export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+        @RequestParam(value = ExportUtil.FORMAT_PARAMETER, defaultValue = "ndjson") String format
+    ) {
+        LOG.debug("REST request to export Products as {}", format);
+        return ExportUtil.export("products", ExportUtil.format(format, ENTITY_NAME), objectMapper, EXPORT_COLUMNS, productService::exportAll);
+    }
+
     /**
      * {@code GET  /products/:id} : get the "id" product.
      *
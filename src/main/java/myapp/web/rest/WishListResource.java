@@ -1,5 +1,6 @@
 package myapp.web.rest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
@@ -9,14 +10,25 @@ import java.util.Objects;
 import java.util.Optional;
 import myapp.domain.WishList;
 import myapp.repository.WishListRepository;
+import myapp.service.WishListService;
 import myapp.web.rest.errors.BadRequestAlertException;
+import myapp.web.util.CursorPaginationUtil;
+import myapp.web.util.ExportUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
+import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 /**
@@ -24,20 +36,32 @@ import tech.jhipster.web.util.ResponseUtil;
  */
 @RestController
 @RequestMapping("/api/wish-lists")
-@Transactional
 public class WishListResource {
 
     private static final Logger LOG = LoggerFactory.getLogger(WishListResource.class);
 
     private static final String ENTITY_NAME = "wishList";
 
+    private static final List<ExportUtil.Column<WishList>> EXPORT_COLUMNS = List.of(
+        ExportUtil.Column.of("id", WishList::getId),
+        ExportUtil.Column.of("title", WishList::getTitle),
+        ExportUtil.Column.of("restricted", WishList::getRestricted),
+        ExportUtil.Column.of("customerId", wishList -> wishList.getCustomer() == null ? null : wishList.getCustomer().getId())
+    );
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
+    private final WishListService wishListService;
+
     private final WishListRepository wishListRepository;
 
-    public WishListResource(WishListRepository wishListRepository) {
+    private final ObjectMapper objectMapper;
+
+    public WishListResource(WishListService wishListService, WishListRepository wishListRepository, ObjectMapper objectMapper) {
+        this.wishListService = wishListService;
         this.wishListRepository = wishListRepository;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -53,7 +77,7 @@ public class WishListResource {
         if (wishList.getId() != null) {
             throw new BadRequestAlertException("A new wishList cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        wishList = wishListRepository.save(wishList);
+        wishList = wishListService.save(wishList);
         return ResponseEntity.created(new URI("/api/wish-lists/" + wishList.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, wishList.getId().toString()))
             .body(wishList);
@@ -86,7 +110,7 @@ public class WishListResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        wishList = wishListRepository.save(wishList);
+        wishList = wishListService.update(wishList);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, wishList.getId().toString()))
             .body(wishList);
@@ -120,19 +144,7 @@ public class WishListResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        Optional<WishList> result = wishListRepository
-            .findById(wishList.getId())
-            .map(existingWishList -> {
-                if (wishList.getTitle() != null) {
-                    existingWishList.setTitle(wishList.getTitle());
-                }
-                if (wishList.getRestricted() != null) {
-                    existingWishList.setRestricted(wishList.getRestricted());
-                }
-
-                return existingWishList;
-            })
-            .map(wishListRepository::save);
+        Optional<WishList> result = wishListService.partialUpdate(wishList);
 
         return ResponseUtil.wrapOrNotFound(
             result,
@@ -143,12 +155,65 @@ public class WishListResource {
     /**
      * {@code GET  /wish-lists} : get all the wishLists.
      *
+     * @param customerId the id of the customer to get the wishLists of, or {@code null} for all the wishLists.
+     * @param title the text to search in the titles of the wishLists, ignoring case, or {@code null} for any title.
+     * @param pageable the pagination information.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of wishLists in body.
      */
     @GetMapping("")
-    public List<WishList> getAllWishLists() {
-        LOG.debug("REST request to get all WishLists");
-        return wishListRepository.findAll();
+    public ResponseEntity<List<WishList>> getAllWishLists(
+        @RequestParam(value = "customerId", required = false) Long customerId,
+        @RequestParam(value = "title", required = false) String title,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        LOG.debug("REST request to get a page of WishLists of Customer : {} with title : {}", customerId, title);
+        Page<WishList> page = wishListService.findAll(customerId, title, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /wish-lists?cursor=} : get a window of the wishLists, using keyset pagination.
+     * <p>
+     * The first window is requested with an empty cursor. When more wishLists are available, the response carries a
+     * {@code Link: rel="next"} header with the cursor of the following window. No total count is computed.
+     *
+     * @param cursor the continuation token, empty for the first window.
+     * @param customerId the id of the customer to get the wishLists of, or {@code null} for all the wishLists.
+     * @param orderBy the keyset ordering, only {@code id}.
+     * @param size the maximum number of wishLists in the window.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of wishLists in body.
+     */
+    @GetMapping(value = "", params = CursorPaginationUtil.CURSOR_PARAMETER)
+    public ResponseEntity<List<WishList>> getAllWishListsByCursor(
+        @RequestParam(CursorPaginationUtil.CURSOR_PARAMETER) String cursor,
+        @RequestParam(value = "customerId", required = false) Long customerId,
+        @RequestParam(value = "orderBy", defaultValue = "id") String orderBy,
+        @RequestParam(value = "size", defaultValue = "20") int size
+    ) {
+        LOG.debug("REST request to get a window of WishLists of Customer : {}", customerId);
+        Sort sort = CursorPaginationUtil.keysetSort(orderBy, List.of(), ENTITY_NAME);
+        ScrollPosition position = CursorPaginationUtil.decodeCursor(cursor, sort, ENTITY_NAME);
+        Window<WishList> window = wishListService.findAll(customerId, position, sort, CursorPaginationUtil.boundedSize(size));
+        HttpHeaders headers = CursorPaginationUtil.generateCursorHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), window, sort);
+        return ResponseEntity.ok().headers(headers).body(window.getContent());
+    }
+
+    /**
+     * {@code GET  /wish-lists/_export} : export all the wishLists, as NDJSON or CSV.
+     * <p>
+     * The wishLists are read by ascending id from a database cursor while the response is written, instead of being
+     * fetched page by page.
+     *
+     * @param format the export format, {@code ndjson} or {@code csv}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the wishLists streamed in body.
+     */
+    @GetMapping("/_export")
+    public ResponseEntity<StreamingResponseBody> exportWishLists(
+        @RequestParam(value = ExportUtil.FORMAT_PARAMETER, defaultValue = "ndjson") String format
+    ) {
+        LOG.debug("REST request to export WishLists as {}", format);
+        return ExportUtil.export("wish-lists", ExportUtil.format(format, ENTITY_NAME), objectMapper, EXPORT_COLUMNS, wishListService::exportAll);
     }
 
     /**
@@ -160,7 +225,7 @@ public class WishListResource {
     @GetMapping("/{id}")
     public ResponseEntity<WishList> getWishList(@PathVariable("id") Long id) {
         LOG.debug("REST request to get WishList : {}", id);
-        Optional<WishList> wishList = wishListRepository.findById(id);
+        Optional<WishList> wishList = wishListService.findOne(id);
         return ResponseUtil.wrapOrNotFound(wishList);
     }
 
@@ -173,7 +238,7 @@ public class WishListResource {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteWishList(@PathVariable("id") Long id) {
         LOG.debug("REST request to delete WishList : {}", id);
-        wishListRepository.deleteById(id);
+        wishListService.delete(id);
         return ResponseEntity.noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString()))
             .build();
@@ -86,6 +86,9 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
         if (ex instanceof myapp.service.EmailAlreadyUsedException) return (ProblemDetailWithCause) new EmailAlreadyUsedException()
             .getBody();
         if (ex instanceof myapp.service.InvalidPasswordException) return (ProblemDetailWithCause) new InvalidPasswordException().getBody();
+        if (ex instanceof myapp.service.OutOfStockException outOfStock) return (ProblemDetailWithCause) new OutOfStockException(
+            outOfStock.getLines()
+        ).getBody();
 
         if (
             ex instanceof ErrorResponseException exp && exp.getBody() instanceof ProblemDetailWithCause problemDetailWithCause
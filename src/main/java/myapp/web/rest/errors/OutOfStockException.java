@@ -0,0 +1,28 @@
+package myapp.web.rest.errors;
+
+import java.util.List;
+import myapp.service.dto.OrderLineDTO;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.ErrorResponseException;
+import tech.jhipster.web.rest.errors.ProblemDetailWithCause.ProblemDetailWithCauseBuilder;
+
+@SuppressWarnings("java:S110") // Inheritance tree of classes should not be too deep
+public class OutOfStockException extends ErrorResponseException {
+
+    private static final long serialVersionUID = 1L;
+
+    public OutOfStockException(List<OrderLineDTO> lines) {
+        super(
+            HttpStatus.CONFLICT,
+            ProblemDetailWithCauseBuilder.instance()
+                .withStatus(HttpStatus.CONFLICT.value())
+                .withType(ErrorConstants.OUT_OF_STOCK_TYPE)
+                .withTitle("Out of stock")
+                .withDetail("Not enough products in stock!")
+                .withProperty("message", "error.outofstock")
+                .withProperty("lines", lines)
+                .build(),
+            null
+        );
+    }
+}
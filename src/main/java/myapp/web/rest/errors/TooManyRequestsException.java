@@ -0,0 +1,27 @@
+package myapp.web.rest.errors;
+
+import java.time.Duration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.ErrorResponseException;
+import tech.jhipster.web.rest.errors.ProblemDetailWithCause.ProblemDetailWithCauseBuilder;
+
+@SuppressWarnings("java:S110") // Inheritance tree of classes should not be too deep
+public class TooManyRequestsException extends ErrorResponseException {
+
+    private static final long serialVersionUID = 1L;
+
+    public TooManyRequestsException(String detail, Duration retryAfter) {
+        super(
+            HttpStatus.TOO_MANY_REQUESTS,
+            ProblemDetailWithCauseBuilder.instance()
+                .withStatus(HttpStatus.TOO_MANY_REQUESTS.value())
+                .withType(ErrorConstants.TOO_MANY_REQUESTS_TYPE)
+                .withTitle("Too many requests")
+                .withDetail(detail)
+                .build(),
+            null
+        );
+        getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, retryAfter.toSeconds())));
+    }
+}
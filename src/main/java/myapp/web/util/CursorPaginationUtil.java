@@ -0,0 +1,131 @@
+package myapp.web.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import myapp.web.rest.errors.BadRequestAlertException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling keyset (seek) pagination.
+ * <p>
+ * Rows are ordered by {@code id}, or by a timestamp column and then {@code id}. The client receives an opaque
+ * continuation token in a {@code Link: rel="next"} header, which holds the sort keys of the last row it received.
+ * No {@code count(*)} query is issued and no rows are skipped with {@code OFFSET}.
+ */
+public final class CursorPaginationUtil {
+
+    public static final String CURSOR_PARAMETER = "cursor";
+
+    public static final int MAX_PAGE_SIZE = 2000;
+
+    private static final String ID = "id";
+
+    private static final String PAIR_SEPARATOR = "&";
+
+    private static final String KEY_VALUE_SEPARATOR = "=";
+
+    private CursorPaginationUtil() {}
+
+    /**
+     * Build the keyset sort for the requested ordering.
+     *
+     * @param orderBy the property to order by, either {@code id} or one of the allowed timestamp properties.
+     * @param timestampProperties the timestamp properties the entity can be ordered by.
+     * @param entityName the entity name, used in error messages.
+     * @return the sort, always ending with {@code id} so that keys are unique.
+     */
+    public static Sort keysetSort(String orderBy, List<String> timestampProperties, String entityName) {
+        if (ID.equals(orderBy)) {
+            return Sort.by(ID);
+        }
+        if (!timestampProperties.contains(orderBy)) {
+            throw new BadRequestAlertException("Invalid keyset ordering", entityName, "orderbyinvalid");
+        }
+        return Sort.by(orderBy, ID);
+    }
+
+    /**
+     * Bound the requested window size to {@code [1, MAX_PAGE_SIZE]}.
+     *
+     * @param size the requested size.
+     * @return the size to use.
+     */
+    public static int boundedSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Decode a continuation token.
+     *
+     * @param cursor the token sent by the client, empty for the first page.
+     * @param sort the keyset sort, as returned by {@link #keysetSort(String, List, String)}.
+     * @param entityName the entity name, used in error messages.
+     * @return the position to scroll from.
+     */
+    public static KeysetScrollPosition decodeCursor(String cursor, Sort sort, String entityName) {
+        if (cursor == null || cursor.isEmpty()) {
+            return ScrollPosition.keyset();
+        }
+        List<String> properties = sort.stream().map(Sort.Order::getProperty).toList();
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            for (String pair : decoded.split(PAIR_SEPARATOR)) {
+                String[] keyValue = pair.split(KEY_VALUE_SEPARATOR, 2);
+                keys.put(keyValue[0], ID.equals(keyValue[0]) ? Long.valueOf(keyValue[1]) : Instant.parse(keyValue[1]));
+            }
+        } catch (RuntimeException e) {
+            throw new BadRequestAlertException("Invalid cursor", entityName, "cursorinvalid");
+        }
+        if (!properties.equals(List.copyOf(keys.keySet()))) {
+            throw new BadRequestAlertException("Cursor does not match the requested ordering", entityName, "cursorinvalid");
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    /**
+     * Encode the position of the last row of a window as a continuation token.
+     *
+     * @param position the position of the last row.
+     * @param sort the keyset sort the window was read with.
+     * @return the opaque token.
+     */
+    public static String encodeCursor(KeysetScrollPosition position, Sort sort) {
+        StringBuilder builder = new StringBuilder();
+        for (Sort.Order order : sort) {
+            if (!builder.isEmpty()) {
+                builder.append(PAIR_SEPARATOR);
+            }
+            builder.append(order.getProperty()).append(KEY_VALUE_SEPARATOR).append(position.getKeys().get(order.getProperty()));
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Generate the {@code Link} header pointing to the next window, if there is one.
+     *
+     * @param uriBuilder the URI builder of the current request.
+     * @param window the window that is returned to the client.
+     * @param sort the keyset sort the window was read with.
+     * @param <T> the type of object.
+     * @return the http headers.
+     */
+    public static <T> HttpHeaders generateCursorHttpHeaders(UriComponentsBuilder uriBuilder, Window<T> window, Sort sort) {
+        HttpHeaders headers = new HttpHeaders();
+        if (window.hasNext() && !window.isEmpty()) {
+            KeysetScrollPosition next = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+            String link = uriBuilder.replaceQueryParam(CURSOR_PARAMETER, encodeCursor(next, sort)).toUriString();
+            headers.add(HttpHeaders.LINK, "<" + link + ">; rel=\"next\"");
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,195 @@
+package myapp.web.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import myapp.web.rest.errors.BadRequestAlertException;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Utility class for exporting entities as NDJSON or CSV.
+ * <p>
+ * The entities are written to the response while they are read from the database, through buffers of a fixed size:
+ * memory use does not depend on the number of rows.
+ */
+public final class ExportUtil {
+
+    public static final String FORMAT_PARAMETER = "format";
+
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    public static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    private static final String CSV_SEPARATOR = ",";
+
+    private static final String CSV_LINE_SEPARATOR = "\r\n";
+
+    private ExportUtil() {}
+
+    /**
+     * The formats of an export.
+     */
+    public enum Format {
+        NDJSON("ndjson", APPLICATION_NDJSON),
+        CSV("csv", TEXT_CSV);
+
+        private final String extension;
+
+        private final MediaType mediaType;
+
+        Format(String extension, MediaType mediaType) {
+            this.extension = extension;
+            this.mediaType = mediaType;
+        }
+    }
+
+    /**
+     * A column of a CSV export.
+     *
+     * @param <T> the type of the exported entities.
+     */
+    public static final class Column<T> {
+
+        private final String header;
+
+        private final Function<T, ?> value;
+
+        private Column(String header, Function<T, ?> value) {
+            this.header = header;
+            this.value = value;
+        }
+
+        public static <T> Column<T> of(String header, Function<T, ?> value) {
+            return new Column<>(header, value);
+        }
+    }
+
+    /**
+     * Parse the requested export format.
+     *
+     * @param format the format, {@code ndjson} or {@code csv}, in any case.
+     * @param entityName the entity name, used in error messages.
+     * @return the format.
+     */
+    public static Format format(String format, String entityName) {
+        try {
+            return Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid export format", entityName, "formatinvalid");
+        }
+    }
+
+    /**
+     * Build the response of an export, as an attachment streamed once the request handler has returned.
+     *
+     * @param filename the name of the attachment, without extension.
+     * @param format the format of the export.
+     * @param objectMapper the mapper used for NDJSON.
+     * @param columns the columns used for CSV.
+     * @param source a function which passes every exported entity to the given consumer, in a read transaction.
+     * @param <T> the type of the exported entities.
+     * @return the response.
+     */
+    public static <T> ResponseEntity<StreamingResponseBody> export(
+        String filename,
+        Format format,
+        ObjectMapper objectMapper,
+        List<Column<T>> columns,
+        Consumer<Consumer<T>> source
+    ) {
+        StreamingResponseBody body = switch (format) {
+            case NDJSON -> out -> writeNdjson(out, objectMapper, source);
+            case CSV -> out -> writeCsv(out, columns, source);
+        };
+        return ResponseEntity.ok()
+            .contentType(format.mediaType)
+            .header(
+                HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(filename + "." + format.extension).build().toString()
+            )
+            .body(body);
+    }
+
+    private static <T> void writeNdjson(OutputStream out, ObjectMapper objectMapper, Consumer<Consumer<T>> source)
+        throws IOException {
+        // One compact document per line, left to the buffers to flush
+        ObjectWriter writer = objectMapper
+            .writer()
+            .without(SerializationFeature.INDENT_OUTPUT)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+            .withRootValueSeparator("");
+        try (JsonGenerator generator = writer.createGenerator(out)) {
+            source.accept(entity -> {
+                try {
+                    writer.writeValue(generator, entity);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private static <T> void writeCsv(OutputStream out, List<Column<T>> columns, Consumer<Consumer<T>> source)
+        throws IOException {
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+            for (int i = 0; i < columns.size(); i++) {
+                writer.write(i == 0 ? "" : CSV_SEPARATOR);
+                writer.write(csvValue(columns.get(i).header));
+            }
+            writer.write(CSV_LINE_SEPARATOR);
+            source.accept(entity -> {
+                try {
+                    for (int i = 0; i < columns.size(); i++) {
+                        writer.write(i == 0 ? "" : CSV_SEPARATOR);
+                        writer.write(csvValue(columns.get(i).value.apply(entity)));
+                    }
+                    writer.write(CSV_LINE_SEPARATOR);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Format a CSV value, quoting it when needed (RFC 4180). Text that a spreadsheet would evaluate as a formula is
+     * prefixed with a quote.
+     */
+    private static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        if (!(value instanceof CharSequence)) {
+            return value.toString();
+        }
+        String text = value.toString();
+        if (!text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.contains(CSV_SEPARATOR) || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
@@ -1,9 +1,11 @@
-import { ComponentFixture, TestBed } from '@angular/core/testing';
+import { ComponentFixture, TestBed, fakeAsync, tick } from '@angular/core/testing';
 import { HttpResponse, provideHttpClient } from '@angular/common/http';
 import { FormBuilder } from '@angular/forms';
 import { ActivatedRoute } from '@angular/router';
 import { Subject, from, of } from 'rxjs';
 
+import { ITEMS_PER_PAGE } from 'app/config/pagination.constants';
+
 import { IWishList } from 'app/entities/wish-list/wish-list.model';
 import { WishListService } from 'app/entities/wish-list/service/wish-list.service';
 import { IOrder } from 'app/entities/order/order.model';
@@ -69,7 +71,7 @@ describe('Product Management Update Component', () => {
       activatedRoute.data = of({ product });
       comp.ngOnInit();
 
-      expect(wishListService.query).toHaveBeenCalled();
+      expect(wishListService.query).toHaveBeenCalledWith(expect.objectContaining({ page: 0, size: ITEMS_PER_PAGE }));
       expect(wishListService.addWishListToCollectionIfMissing).toHaveBeenCalledWith(
         wishListCollection,
         ...additionalWishLists.map(expect.objectContaining),
@@ -77,6 +79,24 @@ describe('Product Management Update Component', () => {
       expect(comp.wishListsSharedCollection).toEqual(expectedCollection);
     });
 
+    it('Should query one page of the WishLists matching the search', fakeAsync(() => {
+      const product: IProduct = { id: 456 };
+      const wishList: IWishList = { id: 29642 };
+      product.wishList = wishList;
+
+      const wishListCollection: IWishList[] = [{ id: 14566, title: 'Birthday gifts' }];
+      jest.spyOn(wishListService, 'query').mockReturnValue(of(new HttpResponse({ body: wishListCollection })));
+
+      activatedRoute.data = of({ product });
+      comp.ngOnInit();
+      comp.searchWishLists(' gift ');
+      tick(300);
+
+      expect(wishListService.query).toHaveBeenCalledTimes(2);
+      expect(wishListService.query).toHaveBeenLastCalledWith(expect.objectContaining({ page: 0, size: ITEMS_PER_PAGE, title: 'gift' }));
+      expect(comp.wishListsSharedCollection).toEqual([wishList, ...wishListCollection]);
+    }));
+
     it('Should call Order query and add missing value', () => {
       const product: IProduct = { id: 456 };
       const order: IOrder = { id: 25292 };
@@ -1,11 +1,12 @@
 import { Component, OnInit, inject } from '@angular/core';
 import { HttpResponse } from '@angular/common/http';
 import { ActivatedRoute } from '@angular/router';
-import { Observable } from 'rxjs';
-import { finalize, map } from 'rxjs/operators';
+import { Observable, Subject } from 'rxjs';
+import { debounceTime, distinctUntilChanged, finalize, map, startWith, switchMap } from 'rxjs/operators';
 
 import SharedModule from 'app/shared/shared.module';
 import { FormsModule, ReactiveFormsModule } from '@angular/forms';
+import { ITEMS_PER_PAGE } from 'app/config/pagination.constants';
 
 import { IWishList } from 'app/entities/wish-list/wish-list.model';
 import { WishListService } from 'app/entities/wish-list/service/wish-list.service';
@@ -39,6 +40,7 @@ export class ProductUpdateComponent implements OnInit {
   protected orderService = inject(OrderService);
   protected categoryService = inject(CategoryService);
   protected activatedRoute = inject(ActivatedRoute);
+  protected wishListSearch = new Subject<string>();
 
   // eslint-disable-next-line @typescript-eslint/member-ordering
   editForm: ProductFormGroup = this.productFormService.createProductFormGroup();
@@ -60,6 +62,10 @@ export class ProductUpdateComponent implements OnInit {
     });
   }
 
+  searchWishLists(title: string): void {
+    this.wishListSearch.next(title.trim());
+  }
+
   previousState(): void {
     window.history.back();
   }
@@ -109,10 +115,14 @@ export class ProductUpdateComponent implements OnInit {
   }
 
   protected loadRelationshipsOptions(): void {
-    this.wishListService
-      .query()
-      .pipe(map((res: HttpResponse<IWishList[]>) => res.body ?? []))
+    // One page of the wish lists whose title contains the search, as there may be too many to offer them all
+    this.wishListSearch
       .pipe(
+        debounceTime(300),
+        distinctUntilChanged(),
+        startWith(''),
+        switchMap(title => this.wishListService.query({ page: 0, size: ITEMS_PER_PAGE, sort: ['title,asc', 'id'], title })),
+        map((res: HttpResponse<IWishList[]>) => res.body ?? []),
         map((wishLists: IWishList[]) =>
           this.wishListService.addWishListToCollectionIfMissing<IWishList>(wishLists, this.product?.wishList),
         ),
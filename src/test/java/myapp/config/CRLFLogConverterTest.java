@@ -0,0 +1,49 @@
+package myapp.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CRLFLogConverterTest {
+
+    private CRLFLogConverter converter;
+
+    @BeforeEach
+    public void setUpConverter() {
+        converter = new CRLFLogConverter();
+        converter.setContext(new LoggerContext());
+        converter.start();
+    }
+
+    private static LoggingEvent event(String loggerName) {
+        LoggingEvent event = new LoggingEvent();
+        event.setLoggerName(loggerName);
+        event.setLevel(Level.INFO);
+        return event;
+    }
+
+    @Test
+    public void testTransform_CleanMessageIsReturnedAsIs() {
+        String message = "REST request to get Product : 1001";
+        assertSame(message, converter.transform(event("myapp.web.rest.ProductResource"), message));
+    }
+
+    @Test
+    public void testTransform_CrlfAndTabsAreReplaced() {
+        String message = "\r\nline 1\nline\t2\r";
+        assertEquals("__line 1_line_2_", converter.transform(event("myapp.web.rest.ProductResource"), message));
+    }
+
+    @Test
+    public void testTransform_SafeLoggerIsNotSanitized() {
+        String message = "select *\nfrom product";
+        assertSame(message, converter.transform(event("org.hibernate.SQL"), message));
+        assertSame(message, converter.transform(event("org.springframework.boot.diagnostics"), message));
+        assertEquals("select *_from product", converter.transform(event("org.springframework.boot"), message));
+        assertEquals("select *_from product", converter.transform(event("org.h"), message));
+    }
+}
@@ -0,0 +1,188 @@
+package myapp.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import jakarta.persistence.EntityManager;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import liquibase.Liquibase;
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import myapp.domain.enumeration.ProductStatus;
+import org.hibernate.Session;
+import org.hibernate.jdbc.ReturningWork;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Reserves the stock of a few products from many threads, each order in its own transaction, against an in-memory H2
+ * database created by the Liquibase changelog. The orders ask for more than the stock, so that the products run out
+ * while the threads still compete for them.
+ */
+public class ProductRepositoryWithStockImplTest {
+
+    private static final String URL = "jdbc:h2:mem:stock;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000";
+
+    private static final int PRODUCTS = 4;
+
+    private static final int INITIAL_STOCK = 500;
+
+    private static final int THREADS = 8;
+
+    private static final int ORDERS_PER_THREAD = 150;
+
+    private static final ThreadLocal<Connection> TRANSACTION = new ThreadLocal<>();
+
+    private static Connection schemaConnection;
+
+    private ProductRepositoryWithStockImpl productRepository;
+
+    @BeforeAll
+    public static void setUpSchema() throws Exception {
+        schemaConnection = DriverManager.getConnection(URL, "sampleApp", "");
+        Database database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(schemaConnection));
+        new Liquibase("config/liquibase/master.xml", new ClassLoaderResourceAccessor(), database).update("test");
+        // Liquibase leaves the connection in a transaction, in which the products would not be seen by the orders
+        schemaConnection.setAutoCommit(true);
+    }
+
+    @AfterAll
+    public static void tearDownSchema() throws SQLException {
+        schemaConnection.createStatement().execute("drop all objects");
+        schemaConnection.close();
+    }
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        try (
+            PreparedStatement statement = schemaConnection.prepareStatement(
+                "insert into product (id, title, price, quantity_in_stock, status, date_added) values (?, ?, 10, ?, ?, current_timestamp)"
+            )
+        ) {
+            for (int i = 0; i < PRODUCTS; i++) {
+                statement.setLong(1, i + 1);
+                statement.setString(2, "Product " + i);
+                statement.setInt(3, INITIAL_STOCK);
+                statement.setString(4, ProductStatus.IN_STOCK.name());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+
+        // Each thread runs its work on its own connection, as the session of its transaction would
+        Session session = mock(Session.class);
+        when(session.doReturningWork(any())).thenAnswer(invocation ->
+            invocation.<ReturningWork<?>>getArgument(0).execute(TRANSACTION.get())
+        );
+        EntityManager entityManager = mock(EntityManager.class);
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+        productRepository = new ProductRepositoryWithStockImpl();
+        ReflectionTestUtils.setField(productRepository, "entityManager", entityManager);
+    }
+
+    @AfterEach
+    public void tearDown() throws SQLException {
+        schemaConnection.createStatement().execute("delete from product");
+    }
+
+    @Test
+    public void testReserveStock_NeverOversellsUnderContention() throws Exception {
+        AtomicLongArray reserved = new AtomicLongArray(PRODUCTS);
+        AtomicInteger placed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Callable<Void>> orderers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            orderers.add(() -> {
+                try (Connection connection = DriverManager.getConnection(URL, "sampleApp", "")) {
+                    connection.setAutoCommit(false);
+                    TRANSACTION.set(connection);
+                    for (int i = 0; i < ORDERS_PER_THREAD; i++) {
+                        if (placeOrder(connection, reserved)) {
+                            placed.incrementAndGet();
+                        } else {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                } finally {
+                    TRANSACTION.remove();
+                }
+                return null;
+            });
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (Future<Void> orderer : executor.invokeAll(orderers)) {
+                orderer.get();
+            }
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+
+        assertTrue(placed.get() > 0);
+        assertTrue(rejected.get() > 0);
+        try (
+            PreparedStatement statement = schemaConnection.prepareStatement("select quantity_in_stock, status from product where id = ?")
+        ) {
+            for (int i = 0; i < PRODUCTS; i++) {
+                statement.setLong(1, i + 1);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    assertTrue(resultSet.next());
+                    int quantityInStock = resultSet.getInt(1);
+                    assertEquals(INITIAL_STOCK - reserved.get(i), quantityInStock);
+                    assertTrue(quantityInStock >= 0);
+                    assertEquals(
+                        quantityInStock == 0 ? ProductStatus.OUT_OF_STOCK.name() : ProductStatus.IN_STOCK.name(),
+                        resultSet.getString(2)
+                    );
+                }
+            }
+        }
+    }
+
+    /**
+     * Reserve two lines on different products, sorted by product id like {@code ProductService}, and commit only when
+     * both are reserved.
+     */
+    private boolean placeOrder(Connection connection, AtomicLongArray reserved) throws SQLException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(PRODUCTS - 1);
+        int second = first + 1 + random.nextInt(PRODUCTS - 1 - first);
+        int firstQuantity = 1 + random.nextInt(3);
+        int secondQuantity = 1 + random.nextInt(3);
+        boolean[] lines = productRepository.reserveStock(
+            new long[] { first + 1, second + 1 },
+            new int[] { firstQuantity, secondQuantity }
+        );
+        if (!lines[0] || !lines[1]) {
+            connection.rollback();
+            return false;
+        }
+        connection.commit();
+        reserved.addAndGet(first, firstQuantity);
+        reserved.addAndGet(second, secondQuantity);
+        return true;
+    }
+}
@@ -0,0 +1,285 @@
+package myapp.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import myapp.config.ApplicationProperties;
+import myapp.domain.MailOutboxMessage;
+import myapp.domain.enumeration.MailOutboxStatus;
+import myapp.management.MailMetersService;
+import myapp.repository.MailOutboxMessageRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Sends the outbox to an in-process SMTP stand-in, which records the connections and the delivered mails, and rejects
+ * the recipients it is told to.
+ */
+public class MailOutboxServiceTest {
+
+    private static final String REJECTED_RECIPIENT = "rejected@example.com";
+
+    private SmtpStandIn smtpServer;
+
+    private MailOutboxMessageRepository mailOutboxMessageRepository;
+
+    private ApplicationProperties applicationProperties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private MailOutboxService mailOutboxService;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        smtpServer = new SmtpStandIn(Set.of(REJECTED_RECIPIENT));
+
+        JavaMailSenderImpl javaMailSender = new JavaMailSenderImpl();
+        javaMailSender.setHost(smtpServer.getHost());
+        javaMailSender.setPort(smtpServer.getPort());
+        Properties javaMailProperties = new Properties();
+        javaMailProperties.setProperty("mail.smtp.connectiontimeout", "5000");
+        javaMailProperties.setProperty("mail.smtp.timeout", "5000");
+        javaMailSender.setJavaMailProperties(javaMailProperties);
+
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getMail().setFrom("test@localhost");
+        applicationProperties = new ApplicationProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        mailOutboxMessageRepository = mock(MailOutboxMessageRepository.class);
+        mailOutboxService = new MailOutboxService(
+            mailOutboxMessageRepository,
+            javaMailSender,
+            jHipsterProperties,
+            new MailMetersService(meterRegistry),
+            applicationProperties
+        );
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        smtpServer.close();
+    }
+
+    @Test
+    public void testSendDueBatch_SendsTheBatchOverOneConnection() {
+        List<MailOutboxMessage> batch = List.of(
+            pendingMessage(1L, "john@example.com"),
+            pendingMessage(2L, "jane@example.com"),
+            pendingMessage(3L, "jim@example.com")
+        );
+        givenDueBatch(batch);
+
+        int size = mailOutboxService.sendDueBatch();
+
+        assertEquals(3, size);
+        assertEquals(1, smtpServer.getConnections());
+        assertEquals(List.of("john@example.com", "jane@example.com", "jim@example.com"), smtpServer.getRecipients());
+        assertTrue(smtpServer.getMessages().get(0).contains("Subject: Subject 1"));
+        for (MailOutboxMessage message : batch) {
+            assertEquals(MailOutboxStatus.SENT, message.getStatus());
+            assertNotNull(message.getSentDate());
+        }
+        assertEquals(3.0, meterRegistry.get(MailMetersService.OUTBOX_MESSAGES_METER_NAME).tag("result", "sent").counter().count());
+    }
+
+    @Test
+    public void testSendDueBatch_RetriesRejectedRecipientWithBackoff() {
+        MailOutboxMessage accepted = pendingMessage(1L, "john@example.com");
+        MailOutboxMessage rejected = pendingMessage(2L, REJECTED_RECIPIENT);
+        MailOutboxMessage acceptedAfterRejection = pendingMessage(3L, "jane@example.com");
+        givenDueBatch(List.of(accepted, rejected, acceptedAfterRejection));
+        Instant before = Instant.now();
+
+        mailOutboxService.sendDueBatch();
+
+        assertEquals(1, smtpServer.getConnections());
+        assertEquals(List.of("john@example.com", "jane@example.com"), smtpServer.getRecipients());
+        assertEquals(MailOutboxStatus.SENT, accepted.getStatus());
+        assertEquals(MailOutboxStatus.SENT, acceptedAfterRejection.getStatus());
+        assertEquals(MailOutboxStatus.PENDING, rejected.getStatus());
+        assertEquals(1, rejected.getAttempts());
+        assertNotNull(rejected.getLastError());
+        assertFalse(
+            rejected.getNextAttemptAt().isBefore(before.plusSeconds(applicationProperties.getMailOutbox().getInitialBackoffSeconds()))
+        );
+        assertEquals(1.0, meterRegistry.get(MailMetersService.OUTBOX_MESSAGES_METER_NAME).tag("result", "retried").counter().count());
+    }
+
+    @Test
+    public void testSendDueBatch_GivesUpAfterMaxAttempts() {
+        MailOutboxMessage rejected = pendingMessage(1L, REJECTED_RECIPIENT);
+        rejected.setAttempts(applicationProperties.getMailOutbox().getMaxAttempts() - 1);
+        givenDueBatch(List.of(rejected));
+
+        mailOutboxService.sendDueBatch();
+
+        assertEquals(MailOutboxStatus.FAILED, rejected.getStatus());
+        assertEquals(applicationProperties.getMailOutbox().getMaxAttempts(), rejected.getAttempts());
+        assertEquals(1.0, meterRegistry.get(MailMetersService.OUTBOX_MESSAGES_METER_NAME).tag("result", "failed").counter().count());
+    }
+
+    @Test
+    public void testSendDueBatch_RetriesTheBatchWhenTheServerIsDown() throws IOException {
+        MailOutboxMessage message = pendingMessage(1L, "john@example.com");
+        givenDueBatch(List.of(message));
+        smtpServer.close();
+
+        mailOutboxService.sendDueBatch();
+
+        assertEquals(MailOutboxStatus.PENDING, message.getStatus());
+        assertEquals(1, message.getAttempts());
+        assertTrue(message.getNextAttemptAt().isAfter(Instant.now()));
+    }
+
+    private void givenDueBatch(List<MailOutboxMessage> batch) {
+        when(mailOutboxMessageRepository.findDueForUpdate(eq(MailOutboxStatus.PENDING), any(), any())).thenReturn(batch);
+    }
+
+    private static MailOutboxMessage pendingMessage(Long id, String recipient) {
+        MailOutboxMessage message = new MailOutboxMessage();
+        message.setId(id);
+        message.setRecipient(recipient);
+        message.setSubject("Subject " + id);
+        message.setContent("<p>Content " + id + "</p>");
+        message.setHtml(true);
+        message.setStatus(MailOutboxStatus.PENDING);
+        message.setCreatedDate(Instant.now());
+        message.setNextAttemptAt(Instant.now());
+        return message;
+    }
+
+    /**
+     * A minimal SMTP server, enough for Jakarta Mail to deliver to it.
+     */
+    private static final class SmtpStandIn implements AutoCloseable {
+
+        private final ServerSocket serverSocket;
+
+        private final Set<String> rejectedRecipients;
+
+        private final AtomicInteger connections = new AtomicInteger();
+
+        private final List<String> recipients = new CopyOnWriteArrayList<>();
+
+        private final List<String> messages = new CopyOnWriteArrayList<>();
+
+        SmtpStandIn(Set<String> rejectedRecipients) throws IOException {
+            this.rejectedRecipients = rejectedRecipients;
+            this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            Thread acceptor = new Thread(this::accept, "smtp-stand-in");
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        String getHost() {
+            return serverSocket.getInetAddress().getHostAddress();
+        }
+
+        int getPort() {
+            return serverSocket.getLocalPort();
+        }
+
+        int getConnections() {
+            return connections.get();
+        }
+
+        List<String> getRecipients() {
+            return recipients;
+        }
+
+        List<String> getMessages() {
+            return messages;
+        }
+
+        private void accept() {
+            while (!serverSocket.isClosed()) {
+                try (Socket socket = serverSocket.accept()) {
+                    connections.incrementAndGet();
+                    converse(socket);
+                } catch (IOException e) {
+                    // Closed
+                }
+            }
+        }
+
+        private void converse(Socket socket) throws IOException {
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            OutputStream out = socket.getOutputStream();
+            reply(out, "220 localhost SMTP stand-in");
+            List<String> envelope = new ArrayList<>();
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() < 4 ? line.toUpperCase() : line.substring(0, 4).toUpperCase();
+                switch (command) {
+                    case "EHLO", "HELO" -> reply(out, "250 localhost");
+                    case "MAIL" -> {
+                        envelope.clear();
+                        reply(out, "250 OK");
+                    }
+                    case "RCPT" -> {
+                        String recipient = line.substring(line.indexOf('<') + 1, line.lastIndexOf('>'));
+                        if (rejectedRecipients.contains(recipient)) {
+                            reply(out, "550 5.1.1 Mailbox unavailable");
+                        } else {
+                            envelope.add(recipient);
+                            reply(out, "250 OK");
+                        }
+                    }
+                    case "DATA" -> {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        StringBuilder data = new StringBuilder();
+                        while ((line = in.readLine()) != null && !line.equals(".")) {
+                            data.append(line).append("\r\n");
+                        }
+                        messages.add(data.toString());
+                        recipients.addAll(envelope);
+                        envelope.clear();
+                        reply(out, "250 OK");
+                    }
+                    case "RSET" -> {
+                        envelope.clear();
+                        reply(out, "250 OK");
+                    }
+                    case "NOOP" -> reply(out, "250 OK");
+                    case "QUIT" -> {
+                        reply(out, "221 Bye");
+                        return;
+                    }
+                    default -> reply(out, "502 Command not implemented");
+                }
+            }
+        }
+
+        private static void reply(OutputStream out, String reply) throws IOException {
+            out.write((reply + "\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            serverSocket.close();
+        }
+    }
+}